@@ -6,11 +6,13 @@ import los.civil.dto.CivilScoreRequest;
 import los.civil.service.CivilScoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/civil-scores")
@@ -20,6 +22,9 @@ public class CivilScoreController {
     
     private final CivilScoreService civilScoreService;
     
+    @Value("${civil.score.bulk.max-ids:500}")
+    private int maxBulkIds;
+    
     /**
      * Generate a new civil score for a customer
      * POST /api/civil-scores/generate
@@ -43,6 +48,29 @@ public class CivilScoreController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Get the valid civil score for a customer, generating one if there is none, in one call
+     * POST /api/civil-scores/customer/{customerId}/get-or-generate
+     */
+    @PostMapping("/customer/{customerId}/get-or-generate")
+    public ResponseEntity<CivilScoreDTO> getOrGenerateScore(@PathVariable Long customerId) {
+        log.info("Request to get or generate civil score for customer: {}", customerId);
+        return ResponseEntity.ok(civilScoreService.getOrGenerateScore(customerId));
+    }
+    
+    /**
+     * Get or generate the valid civil scores of many customers in one call, one per distinct ID
+     * POST /api/civil-scores/customers/get-or-generate with a JSON array of customer IDs
+     */
+    @PostMapping("/customers/get-or-generate")
+    public ResponseEntity<List<CivilScoreDTO>> getOrGenerateScores(@RequestBody List<Long> customerIds) {
+        if (customerIds.isEmpty() || customerIds.size() > maxBulkIds || customerIds.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Request to get or generate civil scores for {} customers", customerIds.size());
+        return ResponseEntity.ok(civilScoreService.getOrGenerateScores(customerIds));
+    }
+    
     /**
      * Get a civil score by ID
      * GET /api/civil-scores/{id}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,26 @@ public interface CivilScoreRepository extends JpaRepository<CivilScore, Long> {
     @Query("SELECT c FROM CivilScore c WHERE c.customerId = :customerId AND c.isActive = true ORDER BY c.generatedAt DESC LIMIT 1")
     Optional<CivilScore> findLatestActiveByCustomerId(Long customerId);
     
+    /**
+     * Find the latest active, non-expired civil score for a customer
+     */
+    @Query("SELECT c FROM CivilScore c WHERE c.customerId = :customerId AND c.isActive = true " +
+           "AND c.expiresAt > CURRENT_TIMESTAMP ORDER BY c.generatedAt DESC LIMIT 1")
+    Optional<CivilScore> findLatestValidByCustomerId(Long customerId);
+    
+    /**
+     * Find the active, non-expired civil scores of many customers
+     */
+    @Query("SELECT c FROM CivilScore c WHERE c.customerId IN :customerIds AND c.isActive = true " +
+           "AND c.expiresAt > CURRENT_TIMESTAMP")
+    List<CivilScore> findValidByCustomerIdIn(Collection<Long> customerIds);
+    
+    /**
+     * Serialize score generation per customer until the current transaction ends
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:customerId)", nativeQuery = true)
+    Integer lockCustomer(Long customerId);
+    
     /**
      * Find all civil scores for a customer
      */
@@ -11,7 +11,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -36,7 +39,71 @@ public class CivilScoreService {
     @Transactional
     public CivilScoreDTO generateScore(CivilScoreRequest request) {
         log.info("Generating civil score for customer: {}", request.getCustomerId());
+        civilScoreRepository.lockCustomer(request.getCustomerId());
+        return convertToDTO(createScore(request));
+    }
+    
+    /**
+     * Return the customer's valid score, or generate one if there is none.
+     * Concurrent calls for the same customer are serialized, so at most one new score is created.
+     * civil-service has no customer data, so any ID gets a score: callers must only pass customers
+     * they know exist (customer-service reads the customer first).
+     */
+    @Transactional
+    public CivilScoreDTO getOrGenerateScore(Long customerId) {
+        Optional<CivilScore> valid = civilScoreRepository.findLatestValidByCustomerId(customerId);
+        if (valid.isEmpty()) {
+            civilScoreRepository.lockCustomer(customerId);
+            // Another caller may have generated one while we waited for the lock
+            valid = civilScoreRepository.findLatestValidByCustomerId(customerId);
+        }
+        if (valid.isPresent()) {
+            log.info("Returning valid civil score for customer: {}", customerId);
+            return convertToDTO(valid.get());
+        }
         
+        log.info("No valid civil score for customer {}, generating one", customerId);
+        return convertToDTO(createScore(new CivilScoreRequest(customerId, null, null)));
+    }
+    
+    /**
+     * Batch form of {@link #getOrGenerateScore(Long)}: one query for the valid scores, then
+     * generation only for the customers that have none. Scores are returned in request order,
+     * one per distinct customer ID.
+     */
+    @Transactional
+    public List<CivilScoreDTO> getOrGenerateScores(Collection<Long> customerIds) {
+        List<Long> distinctIds = customerIds.stream().distinct().toList();
+        Map<Long, CivilScore> scores = latestValidScores(distinctIds);
+        
+        // Sorted, so concurrent batches take the advisory locks in the same order and cannot deadlock
+        List<Long> missing = distinctIds.stream().filter(id -> !scores.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(civilScoreRepository::lockCustomer);
+            // Other callers may have generated some while we waited for the locks
+            scores.putAll(latestValidScores(missing));
+            for (Long customerId : missing) {
+                scores.computeIfAbsent(customerId, id -> createScore(new CivilScoreRequest(id, null, null)));
+            }
+        }
+        log.info("Returning civil scores for {} customers ({} generated or re-read)", distinctIds.size(), missing.size());
+        
+        return distinctIds.stream()
+                .map(scores::get)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    private Map<Long, CivilScore> latestValidScores(Collection<Long> customerIds) {
+        Map<Long, CivilScore> latest = new HashMap<>();
+        for (CivilScore score : civilScoreRepository.findValidByCustomerIdIn(customerIds)) {
+            latest.merge(score.getCustomerId(), score,
+                    (a, b) -> a.getGeneratedAt().isAfter(b.getGeneratedAt()) ? a : b);
+        }
+        return latest;
+    }
+    
+    private CivilScore createScore(CivilScoreRequest request) {
         // Deactivate any existing active scores for this customer
         deactivateExistingScores(request.getCustomerId());
         
@@ -56,7 +123,7 @@ public class CivilScoreService {
         CivilScore saved = civilScoreRepository.save(civilScore);
         log.info("Generated civil score {} ({}) for customer {}", score, civilScore.getCategory(), request.getCustomerId());
         
-        return convertToDTO(saved);
+        return saved;
     }
     
     /**
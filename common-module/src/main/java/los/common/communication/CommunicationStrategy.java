@@ -4,6 +4,12 @@ import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
 import los.common.dto.CustomerDTO;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /*
  * Strategy interface for inter-service communication
  * Supports both synchronous (Feign) and asynchronous (Kafka) implementations
@@ -15,6 +21,45 @@ public interface CommunicationStrategy {
      */
     CustomerDTO getCustomerById(Long customerId);
     
+    /*
+     * Get customer information by ID without blocking the caller.
+     * Request/reply implementations (Kafka) override this; the default delegates to the blocking call.
+     */
+    default CompletionStage<CustomerDTO> getCustomerByIdAsync(Long customerId) {
+        return CompletableFuture.completedFuture(getCustomerById(customerId));
+    }
+    
+    /*
+     * Get many customers at once, keyed by ID. Duplicate IDs are looked up once.
+     * The default issues one getCustomerByIdAsync per distinct ID and waits for all of them;
+     * a failed lookup maps to null, like a customer that was not found, whether it fails
+     * asynchronously or throws straight away (as the blocking default of getCustomerByIdAsync does).
+     */
+    default Map<Long, CustomerDTO> getCustomersByIds(Collection<Long> customerIds) {
+        Map<Long, CompletableFuture<CustomerDTO>> lookups = new LinkedHashMap<>();
+        for (Long customerId : customerIds) {
+            lookups.computeIfAbsent(customerId, id -> {
+                try {
+                    return getCustomerByIdAsync(id).toCompletableFuture().exceptionally(ex -> null);
+                } catch (RuntimeException e) {
+                    return CompletableFuture.completedFuture(null);
+                }
+            });
+        }
+        
+        Map<Long, CustomerDTO> customers = new LinkedHashMap<>();
+        lookups.forEach((id, lookup) -> customers.put(id, lookup.join()));
+        return customers;
+    }
+    
+    /*
+     * getCustomersByIds without blocking the caller.
+     * Request/reply implementations (Kafka) override this; the default delegates to the blocking call.
+     */
+    default CompletionStage<Map<Long, CustomerDTO>> getCustomersByIdsAsync(Collection<Long> customerIds) {
+        return CompletableFuture.completedFuture(getCustomersByIds(customerIds));
+    }
+    
     /*
      * Check customer eligibility for loan
      * Returns EligibilityResponseDTO for sync, void for async (handled via callback)
@@ -0,0 +1,133 @@
+package los.common.communication;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load for a key is in flight, further
+ * callers get the same future instead of starting another remote call. The key is released
+ * as soon as the load completes, so results are never reused after the fact.
+ *
+ * Coalescing ratio = los.singleflight.coalesced / (los.singleflight.loads + los.singleflight.coalesced).
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    /**
+     * @param name used as the metric tag
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Join the in-flight load for {@code key}, or start one with {@code loader}
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        
+        loads.increment();
+        try {
+            loader.get().whenComplete((value, ex) -> {
+                inFlight.remove(key, mine);
+                if (ex != null) {
+                    mine.completeExceptionally(ex);
+                } else {
+                    mine.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+    
+    /**
+     * Join in-flight loads for some keys and load the rest with one call to {@code bulkLoader},
+     * which runs on the calling thread. Keys missing from its result complete with null.
+     */
+    public Map<K, CompletableFuture<V>> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> bulkLoader) {
+        return executeAllAsync(keys, claimed -> CompletableFuture.completedFuture(bulkLoader.apply(claimed)));
+    }
+    
+    /**
+     * Like {@link #executeAll}, for a {@code bulkLoader} that completes later instead of blocking
+     */
+    public Map<K, CompletableFuture<V>> executeAllAsync(Collection<K> keys,
+                                                        Function<List<K>, ? extends CompletionStage<Map<K, V>>> bulkLoader) {
+        Map<K, CompletableFuture<V>> results = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (results.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+            if (existing != null) {
+                coalesced.increment();
+                results.put(key, existing);
+            } else {
+                loads.increment();
+                claimed.put(key, mine);
+                results.put(key, mine);
+            }
+        }
+        
+        if (!claimed.isEmpty()) {
+            CompletionStage<Map<K, V>> load;
+            try {
+                load = bulkLoader.apply(new ArrayList<>(claimed.keySet()));
+            } catch (RuntimeException e) {
+                load = CompletableFuture.failedFuture(e);
+            }
+            load.whenComplete((loaded, ex) -> claimed.forEach((key, future) -> {
+                inFlight.remove(key, future);
+                if (ex != null) {
+                    future.completeExceptionally(ex);
+                } else {
+                    future.complete(loaded != null ? loaded.get(key) : null);
+                }
+            }));
+        }
+        return results;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("los.singleflight.loads", loads, LongAdder::sum)
+                .description("Loads started")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("los.singleflight.coalesced", coalesced, LongAdder::sum)
+                .description("Callers that joined a load already in flight")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("los.singleflight.in.flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(registry);
+    }
+}
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -34,6 +35,7 @@ public class CustomerDTO {
     // Civil/Credit Score information
     private Integer civilScore;
     private String civilScoreCategory;
+    private LocalDateTime civilScoreExpiresAt;
     
     public CustomerDTO(String name, String email, String phone, LocalDate dateOfBirth) {
         this.name = name;
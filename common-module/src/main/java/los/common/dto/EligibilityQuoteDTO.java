@@ -0,0 +1,29 @@
+package los.common.dto;
+
+import los.common.money.Money;
+import los.common.money.Rate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Eligibility surface for one customer: a point per requested amount and term, amount-major,
+ * all computed from a single customer fetch and rule set.
+ * Profile-level fields are null when the customer was rejected before the DTI check.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityQuoteDTO {
+    private Long customerId;
+    private Integer civilScore;
+    private String civilScoreCategory;
+    private Rate debtToIncomeRatio;
+    private Rate maxDebtToIncomeRatio;
+    /** Largest amount any point can be granted; zero if none is eligible */
+    private Money maxEligibleAmount;
+    private Long rulesVersion;
+    private List<EligibilityQuotePointDTO> points;
+}
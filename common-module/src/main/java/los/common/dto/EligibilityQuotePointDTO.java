@@ -0,0 +1,26 @@
+package los.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import los.common.money.Money;
+import los.common.money.Rate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Eligibility for one amount and term of an {@link EligibilityQuoteDTO}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityQuotePointDTO {
+    private Money requestedLoanAmount;
+    private Integer termMonths;
+    private Boolean eligible;
+    private Money eligibleLoanAmount;
+    private Rate interestRate;
+    /** Encoded reason codes, see {@link EligibilityReasons} */
+    private String reason;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reasonText;
+}
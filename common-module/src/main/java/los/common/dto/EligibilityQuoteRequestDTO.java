@@ -0,0 +1,24 @@
+package los.common.dto;
+
+import los.common.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One customer and income profile, evaluated across every combination of {@code amounts} and {@code termMonths}.
+ * An empty {@code termMonths} uses the default term of the current rules.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityQuoteRequestDTO {
+    private Long customerId;
+    private Money monthlyIncome;
+    private Money monthlyExpenses;
+    private String loanPurpose;
+    private List<Money> amounts;
+    private List<Integer> termMonths;
+}
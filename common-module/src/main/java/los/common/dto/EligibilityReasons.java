@@ -0,0 +1,151 @@
+package los.common.dto;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact encoding of eligibility reasons: {@code CODE} or {@code CODE(name=value,...)},
+ * several joined with {@code ;}. This is what travels over Kafka and is stored in
+ * {@code loan_applications.eligibility_reason}, so reasons can be filtered with a prefix match.
+ *
+ * Human-readable text is produced by {@link #render(String)} only when a response leaves
+ * through the REST API, always with English number formatting whatever the server locale.
+ * Parameter values must be plain tokens (numbers, enum names).
+ */
+public final class EligibilityReasons {
+    
+    private EligibilityReasons() {
+    }
+    
+    public static String of(ReasonCode code) {
+        return code.name();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Render encoded reasons as text. Values that are not in the encoded form
+     * (e.g. rows written before reason codes existed) are returned unchanged.
+     */
+    public static String render(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return encoded;
+        }
+        
+        StringBuilder text = new StringBuilder();
+        boolean rejected = false;
+        for (String part : encoded.split(";")) {
+            int open = part.indexOf('(');
+            String name = open < 0 ? part : part.substring(0, open);
+            ReasonCode code = codeOf(name);
+            if (code == null || (open >= 0 && !part.endsWith(")"))) {
+                return encoded;
+            }
+            
+            Map<String, String> params = new HashMap<>();
+            if (open >= 0 && part.length() > open + 2) {
+                for (String param : part.substring(open + 1, part.length() - 1).split(",")) {
+                    int eq = param.indexOf('=');
+                    if (eq < 0) {
+                        return encoded;
+                    }
+                    params.put(param.substring(0, eq), param.substring(eq + 1));
+                }
+            }
+            
+            rejected |= code == ReasonCode.DTI_EXCEEDED || code == ReasonCode.AMOUNT_EXCEEDED;
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(describe(code, params));
+        }
+        return rejected ? "Not eligible: " + text : text.toString();
+    }
+    
+    private static ReasonCode codeOf(String name) {
+        try {
+            return ReasonCode.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static String describe(ReasonCode code, Map<String, String> p) {
+        return switch (code) {
+            case APPROVED -> String.format("Customer approved. Civil Score: %s (%s), DTI: %s%% (max allowed: %s%%)",
+                    p.get("score"), p.get("category"), percent(p.get("dti")), percent(p.get("max")));
+            case CUSTOMER_NOT_FOUND -> "Customer not found";
+            case SCORE_UNAVAILABLE -> "Civil/Credit score not available. Please generate a civil score first.";
+            case SCORE_TOO_LOW -> String.format("Civil/Credit score too low (%s). Minimum required: %s. Category: %s",
+                    p.get("score"), p.get("min"), p.get("category"));
+            case DTI_EXCEEDED -> String.format("DTI ratio %s%% exceeds maximum %s%% for civil score %s.",
+                    percent(p.get("dti")), percent(p.get("max")), p.get("score"));
+            case AMOUNT_EXCEEDED -> String.format(Locale.ROOT, "Requested amount exceeds maximum limit of $%,.0f.",
+                    decimal(p.get("max")));
+            case PROCESSING_ERROR -> "Error processing eligibility. Please retry later.";
+            case SERVICE_UNAVAILABLE -> "Service temporarily unavailable. Please try again later.";
+            case TIMEOUT -> "Eligibility check timed out. Please retry later.";
+            case SEND_FAILED -> "Failed to send eligibility request. Please retry later.";
+            case OVERLOADED -> "Too many eligibility checks in progress. Please retry later.";
+        };
+    }
+    
+    private static String percent(String ratio) {
+        BigDecimal value = decimal(ratio);
+        return value != null ? String.format(Locale.ROOT, "%.2f", value.movePointRight(2)) : "?";
+    }
+    
+    private static BigDecimal decimal(String value) {
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Appends codes and their parameters straight into one buffer
+     */
+    public static final class Builder {
+        private final StringBuilder encoded = new StringBuilder(64);
+        private boolean open;
+        
+        private Builder() {
+        }
+        
+        public Builder code(ReasonCode code) {
+            close();
+            if (!encoded.isEmpty()) {
+                encoded.append(';');
+            }
+            encoded.append(code.name());
+            return this;
+        }
+        
+        public Builder param(String name, Object value) {
+            encoded.append(open ? ',' : '(').append(name).append('=').append(value);
+            open = true;
+            return this;
+        }
+        
+        public boolean isEmpty() {
+            return encoded.isEmpty();
+        }
+        
+        public String build() {
+            close();
+            return encoded.toString();
+        }
+        
+        private void close() {
+            if (open) {
+                encoded.append(')');
+                open = false;
+            }
+        }
+    }
+}
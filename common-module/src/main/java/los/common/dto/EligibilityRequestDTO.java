@@ -1,19 +1,18 @@
 package los.common.dto;
 
+import los.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EligibilityRequestDTO {
     private Long customerId;
-    private BigDecimal requestedLoanAmount;
+    private Money requestedLoanAmount;
     private Integer loanTermMonths;
     private String loanPurpose;
-    private BigDecimal monthlyIncome;
-    private BigDecimal monthlyExpenses;
+    private Money monthlyIncome;
+    private Money monthlyExpenses;
 }
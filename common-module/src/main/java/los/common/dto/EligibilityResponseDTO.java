@@ -1,19 +1,24 @@
 package los.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import los.common.money.Money;
+import los.common.money.Rate;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EligibilityResponseDTO {
     private Long customerId;
     private Boolean eligible;
-    private BigDecimal eligibleLoanAmount;
+    private Money eligibleLoanAmount;
+    /** Encoded reason codes, see {@link EligibilityReasons} */
     private String reason;
-    private BigDecimal recommendedInterestRate;
+    /** Rendered {@link #reason}; filled in only for REST responses */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reasonText;
+    private Rate recommendedInterestRate;
     private Integer recommendedTermMonths;
 }
@@ -0,0 +1,19 @@
+package los.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-item outcome of a batch loan application submission.
+ * Items are returned in the same order as they were submitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanApplicationBatchResultDTO {
+    private Integer index;
+    private Boolean accepted;
+    private LoanApplicationDTO application;
+    private String error;
+}
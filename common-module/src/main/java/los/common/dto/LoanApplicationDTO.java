@@ -1,10 +1,10 @@
 package los.common.dto;
 
+import los.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 public class LoanApplicationDTO {
     private Long id;
     private Long customerId;
-    private BigDecimal loanAmount;
+    private Money loanAmount;
     private Integer loanTermMonths;
     private String loanPurpose;
     private String status; // PENDING, ELIGIBILITY_CHECK, APPROVED, REJECTED
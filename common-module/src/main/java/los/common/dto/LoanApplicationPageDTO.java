@@ -0,0 +1,19 @@
+package los.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of loan applications.
+ * Pass {@code nextCursor} back as {@code cursor} to fetch the following page; null means no more rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanApplicationPageDTO {
+    private List<LoanApplicationDTO> items;
+    private String nextCursor;
+}
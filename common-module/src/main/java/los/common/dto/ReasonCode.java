@@ -0,0 +1,22 @@
+package los.common.dto;
+
+/**
+ * Machine-readable eligibility decision reasons.
+ * Encoded with their parameters by {@link EligibilityReasons}, e.g. {@code DTI_EXCEEDED(dti=0.47,max=0.45,score=640)}.
+ */
+public enum ReasonCode {
+    // Decisions from eligibility-service
+    APPROVED,
+    CUSTOMER_NOT_FOUND,
+    SCORE_UNAVAILABLE,
+    SCORE_TOO_LOW,
+    DTI_EXCEEDED,
+    AMOUNT_EXCEEDED,
+    PROCESSING_ERROR,
+    
+    // Outcomes recorded by loan-application-service when no decision could be obtained
+    SERVICE_UNAVAILABLE,
+    TIMEOUT,
+    SEND_FAILED,
+    OVERLOADED
+}
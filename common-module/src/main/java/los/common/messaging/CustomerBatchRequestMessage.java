@@ -0,0 +1,23 @@
+package los.common.messaging;
+
+import java.util.List;
+
+/**
+ * Request for many customers (with civil scores) in one message; answered by one {@link CustomerBatchResponseMessage}
+ */
+public class CustomerBatchRequestMessage {
+    private String correlationId;
+    private List<Long> customerIds;
+
+    public CustomerBatchRequestMessage() {}
+
+    public CustomerBatchRequestMessage(String correlationId, List<Long> customerIds) {
+        this.correlationId = correlationId;
+        this.customerIds = customerIds;
+    }
+
+    public String getCorrelationId() { return correlationId; }
+    public void setCorrelationId(String correlationId) { this.correlationId = correlationId; }
+    public List<Long> getCustomerIds() { return customerIds; }
+    public void setCustomerIds(List<Long> customerIds) { this.customerIds = customerIds; }
+}
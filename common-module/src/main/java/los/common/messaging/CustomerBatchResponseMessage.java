@@ -0,0 +1,26 @@
+package los.common.messaging;
+
+import los.common.dto.CustomerDTO;
+
+import java.util.List;
+
+/**
+ * Customers found for a {@link CustomerBatchRequestMessage}; unknown IDs are omitted.
+ * A null list indicates the batch could not be processed.
+ */
+public class CustomerBatchResponseMessage {
+    private String correlationId;
+    private List<CustomerDTO> customers;
+
+    public CustomerBatchResponseMessage() {}
+
+    public CustomerBatchResponseMessage(String correlationId, List<CustomerDTO> customers) {
+        this.correlationId = correlationId;
+        this.customers = customers;
+    }
+
+    public String getCorrelationId() { return correlationId; }
+    public void setCorrelationId(String correlationId) { this.correlationId = correlationId; }
+    public List<CustomerDTO> getCustomers() { return customers; }
+    public void setCustomers(List<CustomerDTO> customers) { this.customers = customers; }
+}
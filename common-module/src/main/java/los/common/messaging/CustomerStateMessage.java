@@ -0,0 +1,35 @@
+package los.common.messaging;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest eligibility-relevant state of a customer, published to the log-compacted
+ * customer-state-topic keyed by customer ID. Deliberately carries no personal data,
+ * since compacted topics keep the last value per key indefinitely.
+ * A null civil score means the customer has no valid score; a null record (tombstone) removes the customer.
+ */
+public class CustomerStateMessage {
+    private Long customerId;
+    private Integer civilScore;
+    private String civilScoreCategory;
+    private LocalDateTime civilScoreExpiresAt;
+
+    public CustomerStateMessage() {}
+
+    public CustomerStateMessage(Long customerId, Integer civilScore, String civilScoreCategory,
+                                LocalDateTime civilScoreExpiresAt) {
+        this.customerId = customerId;
+        this.civilScore = civilScore;
+        this.civilScoreCategory = civilScoreCategory;
+        this.civilScoreExpiresAt = civilScoreExpiresAt;
+    }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+    public Integer getCivilScore() { return civilScore; }
+    public void setCivilScore(Integer civilScore) { this.civilScore = civilScore; }
+    public String getCivilScoreCategory() { return civilScoreCategory; }
+    public void setCivilScoreCategory(String civilScoreCategory) { this.civilScoreCategory = civilScoreCategory; }
+    public LocalDateTime getCivilScoreExpiresAt() { return civilScoreExpiresAt; }
+    public void setCivilScoreExpiresAt(LocalDateTime civilScoreExpiresAt) { this.civilScoreExpiresAt = civilScoreExpiresAt; }
+}
@@ -0,0 +1,259 @@
+package los.common.messaging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded registry of in-flight request/reply correlations (e.g. Kafka request topics).
+ *
+ * Timeouts are tracked on a hashed timing wheel driven by a single ticker thread instead
+ * of one timer per future, and entries are unlinked in O(1) when a reply arrives or the
+ * deadline passes, so nothing is left behind for replies that never come.
+ * Registration is rejected with {@link RejectedExecutionException} once {@code capacity}
+ * requests are in flight.
+ *
+ * Timed-out futures are completed with {@link TimeoutException} on the ticker thread;
+ * callers doing blocking work on timeout should use the *Async completion stages.
+ */
+@Slf4j
+public class PendingRequestRegistry<T> implements MeterBinder, AutoCloseable {
+
+    private final String name;
+    private final int capacity;
+    private final long tickNanos;
+    private final Duration defaultTimeout;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+
+    private final ConcurrentHashMap<String, Entry<T>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ScheduledExecutorService ticker;
+    private volatile long currentTick;
+
+    /**
+     * @param name           registry name, used for the ticker thread and metric tags
+     * @param capacity       maximum number of in-flight requests
+     * @param defaultTimeout timeout applied by {@link #register(String)}
+     * @param tickDuration   wheel resolution; timeouts fire up to one tick late
+     * @param wheelSize      number of slots, rounded up to a power of two
+     */
+    public PendingRequestRegistry(String name, int capacity, Duration defaultTimeout,
+                                  Duration tickDuration, int wheelSize) {
+        if (capacity <= 0 || wheelSize <= 0 || tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("capacity, wheelSize and tickDuration must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.defaultTimeout = defaultTimeout;
+        this.tickNanos = tickDuration.toNanos();
+
+        int slots = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        @SuppressWarnings("unchecked")
+        Bucket<T>[] buckets = new Bucket[slots];
+        for (int i = 0; i < slots; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        this.wheel = buckets;
+        this.mask = slots - 1;
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pending-requests-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public CompletableFuture<T> register(String correlationId) {
+        return register(correlationId, defaultTimeout);
+    }
+
+    /**
+     * Register a pending request and return the future its reply will complete.
+     *
+     * @throws RejectedExecutionException if the registry is at capacity
+     * @throws IllegalStateException      if the correlation ID is already pending
+     */
+    public CompletableFuture<T> register(String correlationId, Duration timeout) {
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException(
+                    "Pending request registry '" + name + "' is full (" + capacity + " in flight)");
+        }
+
+        long ticks = Math.max(1, (timeout.toNanos() + tickNanos - 1) / tickNanos);
+        Entry<T> entry = new Entry<>(correlationId, currentTick + ticks + 1);
+        if (pending.putIfAbsent(correlationId, entry) != null) {
+            inFlight.decrementAndGet();
+            throw new IllegalStateException("Correlation ID already pending: " + correlationId);
+        }
+        wheel[(int) (entry.deadlineTick & mask)].add(entry);
+        return entry.future;
+    }
+
+    /**
+     * Complete a pending request with its reply.
+     *
+     * @return false if the correlation ID is unknown, already completed or expired
+     */
+    public boolean complete(String correlationId, T value) {
+        Entry<T> entry = detach(correlationId);
+        return entry != null && entry.future.complete(value);
+    }
+
+    /**
+     * Fail a pending request, e.g. when the request could not be sent.
+     */
+    public boolean fail(String correlationId, Throwable cause) {
+        Entry<T> entry = detach(correlationId);
+        return entry != null && entry.future.completeExceptionally(cause);
+    }
+
+    /**
+     * Drop a pending request without completing its future.
+     */
+    public boolean cancel(String correlationId) {
+        return detach(correlationId) != null;
+    }
+
+    public int size() {
+        return inFlight.get();
+    }
+
+    public long timeoutCount() {
+        return timeouts.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("los.pending.requests", inFlight, AtomicInteger::get)
+                .description("In-flight request/reply correlations awaiting a response")
+                .tag("registry", name)
+                .register(registry);
+        Gauge.builder("los.pending.requests.capacity", () -> capacity)
+                .tag("registry", name)
+                .register(registry);
+        FunctionCounter.builder("los.pending.requests.timeouts", timeouts, AtomicLong::get)
+                .description("Pending requests expired without a response")
+                .tag("registry", name)
+                .register(registry);
+        FunctionCounter.builder("los.pending.requests.rejected", rejected, AtomicLong::get)
+                .description("Registrations rejected because the registry was full")
+                .tag("registry", name)
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private Entry<T> detach(String correlationId) {
+        Entry<T> entry = pending.remove(correlationId);
+        if (entry != null) {
+            wheel[(int) (entry.deadlineTick & mask)].remove(entry);
+            inFlight.decrementAndGet();
+        }
+        return entry;
+    }
+
+    private void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        List<Entry<T>> expired = wheel[(int) (tick & mask)].expire(tick);
+        for (Entry<T> entry : expired) {
+            // remove(key, value) loses the race cleanly against a concurrent complete()
+            if (pending.remove(entry.correlationId, entry)) {
+                inFlight.decrementAndGet();
+                timeouts.incrementAndGet();
+                try {
+                    entry.future.completeExceptionally(new TimeoutException(
+                            "No response for " + entry.correlationId + " in registry '" + name + "'"));
+                } catch (RuntimeException e) {
+                    log.error("Timeout callback failed for {}: {}", entry.correlationId, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String correlationId;
+        private final long deadlineTick;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private Entry<T> prev;
+        private Entry<T> next;
+        private boolean linked;
+
+        private Entry(String correlationId, long deadlineTick) {
+            this.correlationId = correlationId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    /**
+     * One wheel slot: an intrusive doubly-linked list so removal is O(1).
+     */
+    private static final class Bucket<T> {
+        private Entry<T> head;
+
+        synchronized void add(Entry<T> entry) {
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+            entry.linked = true;
+        }
+
+        synchronized void remove(Entry<T> entry) {
+            if (!entry.linked) {
+                return;
+            }
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.linked = false;
+        }
+
+        synchronized List<Entry<T>> expire(long tick) {
+            List<Entry<T>> expired = new ArrayList<>();
+            Entry<T> entry = head;
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                if (entry.deadlineTick <= tick) {
+                    remove(entry);
+                    expired.add(entry);
+                }
+                entry = next;
+            }
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package los.common.money;
+
+/**
+ * Exact long arithmetic shared by {@link Money} and {@link Rate}.
+ * Overflow throws {@link ArithmeticException} instead of wrapping.
+ */
+final class FixedPoint {
+    
+    static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+    
+    private FixedPoint() {
+    }
+    
+    /**
+     * dividend / divisor rounded half away from zero, like {@link java.math.RoundingMode#HALF_UP}
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+    
+    /**
+     * Plain decimal text of unscaled / 10^scale, keeping at least {@code minFraction} fraction digits
+     */
+    static String format(long unscaled, int scale, int minFraction) {
+        StringBuilder text = new StringBuilder(24);
+        if (unscaled < 0) {
+            text.append('-');
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        long whole = Math.abs(unscaled / divisor);
+        long fraction = Math.abs(unscaled % divisor);
+        text.append(whole);
+        
+        int digits = scale;
+        while (digits > minFraction && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        if (digits > 0) {
+            text.append('.');
+            String fractionText = Long.toString(fraction);
+            for (int i = fractionText.length(); i < digits; i++) {
+                text.append('0');
+            }
+            text.append(fractionText);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package los.common.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount as a long number of cents.
+ *
+ * Arithmetic is exact: results are rounded HALF_UP to cents, like the BigDecimal code it
+ * replaces, and overflow throws {@link ArithmeticException}. Serialized as a plain JSON
+ * number ({@code 1234.50}) and stored as NUMERIC via {@link MoneyConverter}, so the wire
+ * and column formats are unchanged.
+ */
+@JsonSerialize(using = MoneyJson.MoneySerializer.class)
+@JsonDeserialize(using = MoneyJson.MoneyDeserializer.class)
+public final class Money implements Comparable<Money> {
+    
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+    
+    private final long cents;
+    
+    private Money(long cents) {
+        this.cents = cents;
+    }
+    
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+    
+    /**
+     * @throws ArithmeticException if the amount does not fit in a long number of cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+    
+    /**
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+    
+    public long cents() {
+        return cents;
+    }
+    
+    public int signum() {
+        return Long.signum(cents);
+    }
+    
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+    
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+    
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+    
+    /**
+     * This amount scaled by {@code factor}, rounded HALF_UP to cents
+     */
+    public Money times(Rate factor) {
+        return ofCents(FixedPoint.divideHalfUp(Math.multiplyExact(cents, factor.units()), Rate.ONE.units()));
+    }
+    
+    public Money min(Money other) {
+        return cents <= other.cents ? this : other;
+    }
+    
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && cents == other.cents;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+    
+    /**
+     * Plain decimal with two fraction digits, e.g. {@code 1234.50}
+     */
+    @Override
+    public String toString() {
+        return FixedPoint.format(cents, SCALE, SCALE);
+    }
+}
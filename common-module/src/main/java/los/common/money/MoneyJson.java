@@ -0,0 +1,65 @@
+package los.common.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson mapping for {@link Money} and {@link Rate}: written as JSON numbers,
+ * read from numbers or numeric strings.
+ */
+public final class MoneyJson {
+    
+    private MoneyJson() {
+    }
+    
+    public static class MoneySerializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toString());
+        }
+    }
+    
+    public static class MoneyDeserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            try {
+                return Money.of(decimalValue(p));
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+            }
+        }
+    }
+    
+    public static class RateSerializer extends JsonSerializer<Rate> {
+        @Override
+        public void serialize(Rate value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toString());
+        }
+    }
+    
+    public static class RateDeserializer extends JsonDeserializer<Rate> {
+        @Override
+        public Rate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            try {
+                return Rate.of(decimalValue(p));
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Rate) ctxt.handleWeirdStringValue(Rate.class, p.getText(), e.getMessage());
+            }
+        }
+    }
+    
+    private static BigDecimal decimalValue(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            return new BigDecimal(p.getText().trim());
+        }
+        return p.getDecimalValue();
+    }
+}
@@ -0,0 +1,99 @@
+package los.common.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Ratio, multiplier or percentage with four decimal places, backed by a long
+ * (e.g. a DTI of 0.47 or an interest rate of 7.5).
+ * Same rounding and overflow rules as {@link Money}.
+ */
+@JsonSerialize(using = MoneyJson.RateSerializer.class)
+@JsonDeserialize(using = MoneyJson.RateDeserializer.class)
+public final class Rate implements Comparable<Rate> {
+    
+    public static final int SCALE = 4;
+    public static final Rate ZERO = new Rate(0);
+    public static final Rate ONE = new Rate(FixedPoint.POWERS_OF_TEN[SCALE]);
+    
+    private final long units;
+    
+    private Rate(long units) {
+        this.units = units;
+    }
+    
+    /**
+     * @param units value in ten-thousandths
+     */
+    public static Rate ofUnits(long units) {
+        return units == 0 ? ZERO : new Rate(units);
+    }
+    
+    public static Rate of(BigDecimal value) {
+        return ofUnits(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+    
+    public static Rate parse(String value) {
+        return of(new BigDecimal(value));
+    }
+    
+    /**
+     * numerator / denominator rounded HALF_UP to {@code decimals} places (at most {@link #SCALE})
+     *
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static Rate ratio(Money numerator, Money denominator, int decimals) {
+        long quotient = FixedPoint.divideHalfUp(
+                Math.multiplyExact(numerator.cents(), FixedPoint.POWERS_OF_TEN[decimals]), denominator.cents());
+        return ofUnits(Math.multiplyExact(quotient, FixedPoint.POWERS_OF_TEN[SCALE - decimals]));
+    }
+    
+    public long units() {
+        return units;
+    }
+    
+    public int signum() {
+        return Long.signum(units);
+    }
+    
+    public Rate plus(Rate other) {
+        return ofUnits(Math.addExact(units, other.units));
+    }
+    
+    /**
+     * Value times 100, e.g. 47.0 for a ratio of 0.47. For display only.
+     */
+    public double percent() {
+        return units / 100.0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Rate other) {
+        return Long.compare(units, other.units);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rate other && units == other.units;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(units);
+    }
+    
+    /**
+     * Plain decimal without trailing zeros beyond the first fraction digit, e.g. {@code 7.5} or {@code 0.47}
+     */
+    @Override
+    public String toString() {
+        return FixedPoint.format(units, SCALE, 1);
+    }
+}
@@ -0,0 +1,23 @@
+package los.common.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores {@link Rate} in a NUMERIC column. Apply with {@code @Convert(converter = RateConverter.class)}.
+ */
+@Converter
+public class RateConverter implements AttributeConverter<Rate, BigDecimal> {
+    
+    @Override
+    public BigDecimal convertToDatabaseColumn(Rate rate) {
+        return rate != null ? rate.toBigDecimal() : null;
+    }
+    
+    @Override
+    public Rate convertToEntityAttribute(BigDecimal value) {
+        return value != null ? Rate.of(value) : null;
+    }
+}
@@ -0,0 +1,81 @@
+package los.common.dto;
+
+import los.common.money.Money;
+import los.common.money.Rate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Rendered reasons must read exactly like the text eligibility-service used to send
+ */
+class EligibilityReasonsTest {
+    
+    @Test
+    void encodesCodesAndParameters() {
+        assertEquals("CUSTOMER_NOT_FOUND", EligibilityReasons.of(ReasonCode.CUSTOMER_NOT_FOUND));
+        assertEquals("DTI_EXCEEDED(dti=0.47,max=0.45,score=640);AMOUNT_EXCEEDED(max=500000.00)",
+                EligibilityReasons.builder()
+                        .code(ReasonCode.DTI_EXCEEDED).param("dti", Rate.parse("0.47")).param("max", Rate.parse("0.45"))
+                        .param("score", 640)
+                        .code(ReasonCode.AMOUNT_EXCEEDED).param("max", Money.parse("500000"))
+                        .build());
+    }
+    
+    @Test
+    void rendersLegacyTextForDecisions() {
+        assertEquals("Customer approved. Civil Score: 742 (GOOD), DTI: 30.00% (max allowed: 50.00%)",
+                EligibilityReasons.render("APPROVED(score=742,category=GOOD,dti=0.3,max=0.5)"));
+        assertEquals("Civil/Credit score too low (512). Minimum required: 580. Category: POOR",
+                EligibilityReasons.render("SCORE_TOO_LOW(score=512,min=580,category=POOR)"));
+        assertEquals("Civil/Credit score not available. Please generate a civil score first.",
+                EligibilityReasons.render("SCORE_UNAVAILABLE"));
+        assertEquals("Customer not found", EligibilityReasons.render("CUSTOMER_NOT_FOUND"));
+        assertEquals("Not eligible: DTI ratio 47.00% exceeds maximum 45.00% for civil score 640.",
+                EligibilityReasons.render("DTI_EXCEEDED(dti=0.47,max=0.45,score=640)"));
+        assertEquals("Not eligible: Requested amount exceeds maximum limit of $500,000.",
+                EligibilityReasons.render("AMOUNT_EXCEEDED(max=500000.00)"));
+        assertEquals("Not eligible: DTI ratio 47.00% exceeds maximum 45.00% for civil score 640. "
+                        + "Requested amount exceeds maximum limit of $500,000.",
+                EligibilityReasons.render("DTI_EXCEEDED(dti=0.47,max=0.45,score=640);AMOUNT_EXCEEDED(max=500000.00)"));
+    }
+    
+    @Test
+    void rendersTheSameInAnyLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            assertEquals("Not eligible: DTI ratio 47.50% exceeds maximum 45.00% for civil score 640. "
+                            + "Requested amount exceeds maximum limit of $1,250,000.",
+                    EligibilityReasons.render("DTI_EXCEEDED(dti=0.475,max=0.45,score=640);AMOUNT_EXCEEDED(max=1250000.00)"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+    
+    @Test
+    void rendersOutcomesRecordedWithoutADecision() {
+        assertEquals("Eligibility check timed out. Please retry later.", EligibilityReasons.render("TIMEOUT"));
+        assertEquals("Too many eligibility checks in progress. Please retry later.", EligibilityReasons.render("OVERLOADED"));
+    }
+    
+    @Test
+    void leavesAnythingElseUnchanged() {
+        assertNull(EligibilityReasons.render(null));
+        assertEquals("", EligibilityReasons.render(""));
+        // Rows written before reason codes existed
+        assertEquals("Customer not found (legacy row)", EligibilityReasons.render("Customer not found (legacy row)"));
+        assertEquals("NOT_A_CODE", EligibilityReasons.render("NOT_A_CODE"));
+        assertEquals("DTI_EXCEEDED(dti=0.47", EligibilityReasons.render("DTI_EXCEEDED(dti=0.47"));
+        assertEquals("DTI_EXCEEDED(dti)", EligibilityReasons.render("DTI_EXCEEDED(dti)"));
+    }
+    
+    @Test
+    void unreadableNumbersRenderAsPlaceholder() {
+        assertEquals("Not eligible: DTI ratio ?% exceeds maximum 45.00% for civil score 640.",
+                EligibilityReasons.render("DTI_EXCEEDED(dti=abc,max=0.45,score=640)"));
+    }
+}
@@ -0,0 +1,104 @@
+package los.common.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pins Money and Rate arithmetic to the BigDecimal expressions it replaced
+ */
+class MoneyRoundingTest {
+    
+    private static final long[] EDGE_VALUES = {0, 1, -1, 2, -2, 3, -3, 5, -5, 7, -7, 10, -10, 49, 50, 51, -49, -50, -51,
+            99, 100, 101, 12_345, -12_345, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1};
+    
+    private final SplittableRandom random = new SplittableRandom(15);
+    
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        for (long dividend : EDGE_VALUES) {
+            for (long divisor : EDGE_VALUES) {
+                if (divisor != 0) {
+                    assertDivision(dividend, divisor);
+                }
+            }
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long divisor = random.nextLong(-1_000_000, 1_000_000);
+            if (divisor != 0) {
+                assertDivision(random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L), divisor);
+            }
+        }
+    }
+    
+    @Test
+    void ratioMatchesLegacyDtiDivision() {
+        for (int i = 0; i < 100_000; i++) {
+            Money income = Money.ofCents(random.nextLong(1, 10_000_000_00L));
+            Money expenses = Money.ofCents(random.nextLong(0, 10_000_000_00L));
+            BigDecimal legacy = expenses.toBigDecimal().divide(income.toBigDecimal(), 2, RoundingMode.HALF_UP);
+            assertEquals(Rate.of(legacy), Rate.ratio(expenses, income, 2), expenses + " / " + income);
+        }
+        // Exactly on the half cent
+        assertEquals(Rate.parse("0.13"), Rate.ratio(Money.parse("1.25"), Money.parse("10"), 2));
+        assertEquals(Rate.parse("0.12"), Rate.ratio(Money.parse("1.24"), Money.parse("10"), 2));
+    }
+    
+    @Test
+    void ratioByZeroThrows() {
+        assertThrows(ArithmeticException.class, () -> Rate.ratio(Money.parse("1"), Money.ZERO, 2));
+    }
+    
+    @Test
+    void timesRateMatchesBigDecimal() {
+        for (int i = 0; i < 100_000; i++) {
+            Money amount = Money.ofCents(random.nextLong(-1_000_000_000_00L, 1_000_000_000_00L));
+            Rate factor = Rate.ofUnits(random.nextLong(0, 100_0000));
+            BigDecimal legacy = amount.toBigDecimal().multiply(factor.toBigDecimal()).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(Money.of(legacy), amount.times(factor), amount + " * " + factor);
+        }
+        // Whole multipliers, as in the income tiers, are exact
+        assertEquals(Money.parse("240000.48"), Money.parse("5000.01").times(Rate.parse("48")));
+    }
+    
+    @Test
+    void conversionsRoundHalfUp() {
+        assertEquals(101, Money.parse("1.005").cents());
+        assertEquals(100, Money.parse("1.0049").cents());
+        assertEquals(-101, Money.parse("-1.005").cents());
+        assertEquals(4750, Rate.parse("0.47495").units());
+        assertEquals(-5, Rate.parse("-0.00045").units());
+    }
+    
+    @Test
+    void overflowThrows() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> max.times(Rate.parse("2")));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1e20"));
+    }
+    
+    @Test
+    void textMatchesBigDecimal() {
+        for (long cents : EDGE_VALUES) {
+            Money money = Money.ofCents(cents);
+            assertEquals(money.toBigDecimal().toPlainString(), money.toString());
+        }
+        assertEquals("7.5", Rate.parse("7.50").toString());
+        assertEquals("0.4", Rate.parse("0.40").toString());
+        assertEquals("0.47", Rate.parse("0.47").toString());
+        assertEquals("48.0", Rate.parse("48").toString());
+        assertEquals("-0.0005", Rate.ofUnits(-5).toString());
+    }
+    
+    private static void assertDivision(long dividend, long divisor) {
+        BigDecimal expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+        assertEquals(expected.longValueExact(), FixedPoint.divideHalfUp(dividend, divisor), dividend + " / " + divisor);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "civil-service", fallback = CivilServiceClientFallback.class)
@@ -18,6 +19,15 @@ public interface CivilServiceClient {
     @GetMapping("/api/civil-scores/customer/{customerId}")
     CivilScoreDTO getLatestCivilScore(@PathVariable("customerId") Long customerId);
     
+    @PostMapping("/api/civil-scores/customer/{customerId}/get-or-generate")
+    CivilScoreDTO getOrGenerateCivilScore(@PathVariable("customerId") Long customerId);
+    
+    /**
+     * One valid (or newly generated) score per distinct customer ID
+     */
+    @PostMapping("/api/civil-scores/customers/get-or-generate")
+    List<CivilScoreDTO> getOrGenerateCivilScores(@RequestBody List<Long> customerIds);
+    
     @GetMapping("/api/civil-scores/customer/{customerId}/valid")
     Boolean hasValidCivilScore(@PathVariable("customerId") Long customerId);
 }
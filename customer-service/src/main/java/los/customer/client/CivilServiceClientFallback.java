@@ -4,7 +4,9 @@ import los.common.dto.CivilScoreDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -22,6 +24,20 @@ public class CivilServiceClientFallback implements CivilServiceClient {
         return createFallbackDTO(customerId);
     }
     
+    @Override
+    public CivilScoreDTO getOrGenerateCivilScore(Long customerId) {
+        log.warn("Fallback: Unable to get or generate civil score for customer: {}", customerId);
+        return createFallbackDTO(customerId);
+    }
+    
+    @Override
+    public List<CivilScoreDTO> getOrGenerateCivilScores(List<Long> customerIds) {
+        log.warn("Fallback: Unable to get or generate civil scores for {} customers", customerIds.size());
+        return customerIds.stream()
+                .map(this::createFallbackDTO)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public Boolean hasValidCivilScore(Long customerId) {
         log.warn("Fallback: Unable to check valid civil score for customer: {}", customerId);
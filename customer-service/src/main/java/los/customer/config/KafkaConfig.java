@@ -1,6 +1,8 @@
 package los.customer.config;
 
+import los.common.messaging.CustomerBatchRequestMessage;
 import los.common.messaging.CustomerRequestMessage;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -11,6 +13,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
@@ -29,6 +32,12 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:29092}")
     private String bootstrapServers;
     
+    @Value("${los.customer.kafka.concurrency:3}")
+    private int customerRequestConcurrency;
+    
+    @Value("${los.customer.kafka.max-poll-records:500}")
+    private int customerRequestMaxPollRecords;
+    
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -43,12 +52,26 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
     
+    /**
+     * Compacted: only the latest state per customer ID is kept, so consumers can rebuild
+     * their local copy by reading the topic from the beginning
+     */
+    @Bean
+    public NewTopic customerStateTopic(@Value("${los.customer.state-topic.partitions:3}") int partitions) {
+        return TopicBuilder.name("customer-state-topic")
+                .partitions(partitions)
+                .compact()
+                .build();
+    }
+    
     @Bean
     public ConsumerFactory<String, CustomerRequestMessage> consumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "customer-service-group");
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Upper bound on requests resolved (and responses awaited) per listener call
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, customerRequestMaxPollRecords);
         
         JsonDeserializer<CustomerRequestMessage> deserializer = new JsonDeserializer<>(CustomerRequestMessage.class);
         deserializer.addTrustedPackages("*");
@@ -64,6 +87,32 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, CustomerRequestMessage> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        // One listener thread per partition, up to this many; extra threads stay idle
+        factory.setConcurrency(customerRequestConcurrency);
+        return factory;
+    }
+    
+    // Consumer factory for CustomerBatchRequestMessage (bulk lookups from eligibility-service)
+    @Bean
+    public ConsumerFactory<String, CustomerBatchRequestMessage> customerBatchRequestConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "customer-service-group");
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        
+        JsonDeserializer<CustomerBatchRequestMessage> deserializer = new JsonDeserializer<>(CustomerBatchRequestMessage.class);
+        deserializer.addTrustedPackages("*");
+        deserializer.setUseTypeHeaders(false);
+        
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), deserializer);
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CustomerBatchRequestMessage> customerBatchRequestKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CustomerBatchRequestMessage> factory = 
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(customerBatchRequestConsumerFactory());
         return factory;
     }
 }
@@ -5,11 +5,13 @@ import los.common.dto.CustomerDTO;
 import los.customer.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -19,6 +21,9 @@ public class CustomerController {
     
     private final CustomerService customerService;
     
+    @Value("${los.customer.bulk.max-ids:500}")
+    private int maxBulkIds;
+    
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerDTO customerDTO) {
         CustomerDTO created = customerService.createCustomer(customerDTO);
@@ -41,6 +46,32 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
     
+    /**
+     * Get many customers with civil scores in one call, in request order; unknown IDs are omitted
+     * GET /api/customers/bulk?ids=1,2,3
+     */
+    @GetMapping("/bulk")
+    public ResponseEntity<List<CustomerDTO>> getCustomersWithCivilScore(@RequestParam List<Long> ids) {
+        return bulk(ids);
+    }
+    
+    /**
+     * Same as GET /bulk, for ID lists too long for a query string
+     * POST /api/customers/bulk with a JSON array of customer IDs
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<CustomerDTO>> postCustomersWithCivilScore(@RequestBody List<Long> ids) {
+        return bulk(ids);
+    }
+    
+    private ResponseEntity<List<CustomerDTO>> bulk(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxBulkIds || ids.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Fetching {} customers with civil score", ids.size());
+        return ResponseEntity.ok(customerService.getCustomersWithCivilScore(ids));
+    }
+    
     /**
      * Refresh civil score for a customer - generates a new score
      */
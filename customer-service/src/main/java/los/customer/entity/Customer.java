@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "customers")
@@ -35,4 +36,6 @@ public class Customer {
     // Civil/Credit Score - fetched from civil-service
     private Integer civilScore;
     private String civilScoreCategory;
+    // When civil-service's score expires; served stale for the grace period after that
+    private LocalDateTime civilScoreExpiresAt;
 }
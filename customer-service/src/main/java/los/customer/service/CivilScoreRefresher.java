@@ -0,0 +1,143 @@
+package los.customer.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Stale-while-revalidate bookkeeping for the civil scores stored on customers.
+ *
+ * A stored score is FRESH until it expires, then STALE for {@code grace-period}: it is still served,
+ * and revalidated in the background at most once per customer at a time. After that (or with no
+ * score at all) it is EXPIRED and callers revalidate before answering.
+ */
+@Component
+@Slf4j
+public class CivilScoreRefresher implements MeterBinder {
+
+    public enum Freshness { FRESH, STALE, EXPIRED }
+
+    private final Duration gracePeriod;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    // Virtual threads: a refresh just waits on civil-service
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("civil-score-refresh-", 0).factory());
+
+    private final LongAdder fresh = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private volatile DistributionSummary staleness;
+
+    public CivilScoreRefresher(@Value("${los.customer.civil-score.grace-period:24h}") Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * Classify a stored score and count the lookup
+     */
+    public Freshness check(Integer score, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (score == null || score <= 0 || expiresAt == null || !now.isBefore(expiresAt.plus(gracePeriod))) {
+            expired.increment();
+            return Freshness.EXPIRED;
+        }
+        if (now.isBefore(expiresAt)) {
+            fresh.increment();
+            return Freshness.FRESH;
+        }
+        stale.increment();
+        DistributionSummary summary = staleness;
+        if (summary != null) {
+            summary.record(Duration.between(expiresAt, now).toSeconds());
+        }
+        return Freshness.STALE;
+    }
+
+    /**
+     * Revalidate the given customers in the background with one call to {@code refresh}.
+     * Customers already being refreshed are left out; {@code refresh} signals failure by throwing.
+     */
+    public void refreshInBackground(Collection<Long> customerIds, Consumer<List<Long>> refresh) {
+        List<Long> claimed = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            if (refreshing.add(customerId)) {
+                claimed.add(customerId);
+            } else {
+                coalesced.increment();
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                refresh.accept(claimed);
+                refreshed.add(claimed.size());
+            } catch (RuntimeException e) {
+                failed.add(claimed.size());
+                log.warn("Background civil score refresh failed for {} customers: {}", claimed.size(), e.getMessage());
+            } finally {
+                refreshing.removeAll(claimed);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("los.civil.score.lookups", fresh, LongAdder::sum)
+                .description("Stored civil scores served while valid")
+                .tag("state", "fresh")
+                .register(registry);
+        FunctionCounter.builder("los.civil.score.lookups", stale, LongAdder::sum)
+                .description("Expired civil scores served within the grace period")
+                .tag("state", "stale")
+                .register(registry);
+        FunctionCounter.builder("los.civil.score.lookups", expired, LongAdder::sum)
+                .description("Lookups that had to wait for civil-service")
+                .tag("state", "expired")
+                .register(registry);
+        FunctionCounter.builder("los.civil.score.refreshes", refreshed, LongAdder::sum)
+                .description("Customers whose stale score was refreshed in the background")
+                .tag("outcome", "success")
+                .register(registry);
+        FunctionCounter.builder("los.civil.score.refreshes", failed, LongAdder::sum)
+                .tag("outcome", "failure")
+                .register(registry);
+        FunctionCounter.builder("los.civil.score.refreshes.coalesced", coalesced, LongAdder::sum)
+                .description("Stale lookups that joined a refresh already in progress")
+                .register(registry);
+        Gauge.builder("los.civil.score.refreshes.in.flight", refreshing, Set::size)
+                .register(registry);
+        staleness = DistributionSummary.builder("los.civil.score.staleness")
+                .description("How long past expiry stale civil scores were when served")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
@@ -5,14 +5,29 @@ import los.common.dto.CustomerDTO;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import los.common.messaging.CustomerBatchRequestMessage;
+import los.common.messaging.CustomerBatchResponseMessage;
 import los.common.messaging.CustomerRequestMessage;
 import los.common.messaging.CustomerResponseMessage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Component
 @ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
 @RequiredArgsConstructor
@@ -22,62 +37,114 @@ public class CustomerKafkaConsumer {
     private final CustomerService customerService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     
+    @Value("${los.customer.bulk.max-ids:500}")
+    private int maxBulkIds;
+    
+    @Value("${los.customer.kafka.send-timeout:30s}")
+    private Duration sendTimeout;
+    
     @PostConstruct
     public void init() {
         log.info("=== CustomerKafkaConsumer INITIALIZED - Listening on 'customer-request-topic' ===");
     }
     
-    @KafkaListener(topics = "customer-request-topic", groupId = "customer-service-group", containerFactory = "kafkaListenerContainerFactory")
-    public void handleCustomerRequest(CustomerRequestMessage message) {
-        log.info("Received customer request via Kafka: correlationId={}, customerId={}", 
-                message.getCorrelationId(), message.getCustomerId());
+    /**
+     * Handles one poll's worth of customer requests per partition-assigned listener thread.
+     *
+     * Repeated customer IDs are resolved once, and the batch costs one IN query plus at most one
+     * civil-service call per {@code max-ids} customers (see {@link CustomerService#getCustomersWithCivilScore}).
+     * All responses are then sent back to back without per-record callbacks, flushed and awaited
+     * as a whole, so offsets are committed only once every response has been acknowledged;
+     * a failed send throws and the batch is redelivered.
+     */
+    @KafkaListener(topics = "customer-request-topic", groupId = "customer-service-group", containerFactory = "kafkaListenerContainerFactory", batch = "true")
+    public void handleCustomerRequests(List<CustomerRequestMessage> messages) {
+        Set<Long> customerIds = new LinkedHashSet<>();
+        for (CustomerRequestMessage message : messages) {
+            if (message.getCustomerId() != null) {
+                customerIds.add(message.getCustomerId());
+            }
+        }
+        log.info("Received batch of {} customer requests for {} distinct customers", messages.size(), customerIds.size());
+        
+        // Unknown customers and failed lookups are answered with a null customer
+        Map<Long, CustomerDTO> customers = new HashMap<>();
+        try {
+            for (CustomerDTO customer : resolveCustomers(new ArrayList<>(customerIds))) {
+                customers.put(customer.getId(), customer);
+            }
+        } catch (Exception e) {
+            log.error("Error processing customer request batch: {}", e.getMessage(), e);
+        }
+        
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(messages.size());
+        for (CustomerRequestMessage message : messages) {
+            CustomerDTO customer = message.getCustomerId() == null ? null : customers.get(message.getCustomerId());
+            sends.add(send("customer-response-topic", message.getCorrelationId(),
+                    new CustomerResponseMessage(message.getCorrelationId(), customer)));
+        }
+        kafkaTemplate.flush();
+        awaitSends(sends);
+        log.info("Sent {} customer responses via Kafka ({} found)", sends.size(), customers.size());
+    }
+    
+    /**
+     * Answer a bulk lookup with one response message; large batches are resolved in chunks of max-ids
+     */
+    @KafkaListener(topics = "customer-batch-request-topic", groupId = "customer-service-group", containerFactory = "customerBatchRequestKafkaListenerContainerFactory")
+    public void handleCustomerBatchRequest(CustomerBatchRequestMessage message) {
+        List<Long> customerIds = message.getCustomerIds() == null ? List.of() : message.getCustomerIds();
+        log.info("Received customer batch request via Kafka: correlationId={}, customers={}", 
+                message.getCorrelationId(), customerIds.size());
         
+        List<CustomerDTO> customers;
         try {
-            // Fetch customer with civil score for eligibility decisions
-            CustomerDTO customer = customerService.getCustomerWithCivilScore(message.getCustomerId());
-            log.info("Customer {} civil score: {} ({})", message.getCustomerId(), 
-                    customer.getCivilScore(), customer.getCivilScoreCategory());
-            
-            // Send response back via Kafka
-            CustomerResponseMessage responseMessage = new CustomerResponseMessage();
-            responseMessage.setCorrelationId(message.getCorrelationId());
-            responseMessage.setCustomer(customer);
-            
-            kafkaTemplate.send("customer-response-topic", message.getCorrelationId(), responseMessage)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Kafka response send failed for key={}: {}", message.getCorrelationId(), ex.getMessage(), ex);
-                    } else if (result != null && result.getRecordMetadata() != null) {
-                        log.info("Kafka response sent: topic={}, partition={}, offset={}, key={}",
-                                result.getRecordMetadata().topic(),
-                                result.getRecordMetadata().partition(),
-                                result.getRecordMetadata().offset(),
-                                message.getCorrelationId());
-                    } else {
-                        log.info("Kafka response sent with no metadata for key={}", message.getCorrelationId());
-                    }
-                });
+            customers = resolveCustomers(customerIds);
         } catch (Exception e) {
-            log.error("Error processing customer request: {}", e.getMessage(), e);
-            // Send error response
-            CustomerResponseMessage responseMessage = new CustomerResponseMessage();
-            responseMessage.setCorrelationId(message.getCorrelationId());
-            responseMessage.setCustomer(null); // null indicates error
-            
-            kafkaTemplate.send("customer-response-topic", message.getCorrelationId(), responseMessage)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Kafka error response send failed for key={}: {}", message.getCorrelationId(), ex.getMessage(), ex);
-                    } else if (result != null && result.getRecordMetadata() != null) {
-                        log.info("Kafka error response sent: topic={}, partition={}, offset={}, key={}",
-                                result.getRecordMetadata().topic(),
-                                result.getRecordMetadata().partition(),
-                                result.getRecordMetadata().offset(),
-                                message.getCorrelationId());
-                    } else {
-                        log.info("Kafka error response sent with no metadata for key={}", message.getCorrelationId());
-                    }
-                });
+            log.error("Error processing customer batch request: {}", e.getMessage(), e);
+            customers = null; // null indicates error
+        }
+        
+        kafkaTemplate.send("customer-batch-response-topic", message.getCorrelationId(),
+                        new CustomerBatchResponseMessage(message.getCorrelationId(), customers))
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Kafka batch response send failed for key={}: {}", message.getCorrelationId(), ex.getMessage(), ex);
+                } else {
+                    log.info("Kafka batch response sent for key={}", message.getCorrelationId());
+                }
+            });
+    }
+    
+    /**
+     * Customers with civil scores, in chunks of max-ids per bulk lookup
+     */
+    private List<CustomerDTO> resolveCustomers(List<Long> customerIds) {
+        List<CustomerDTO> customers = new ArrayList<>(customerIds.size());
+        for (int from = 0; from < customerIds.size(); from += maxBulkIds) {
+            customers.addAll(customerService.getCustomersWithCivilScore(
+                    customerIds.subList(from, Math.min(customerIds.size(), from + maxBulkIds))));
+        }
+        return customers;
+    }
+    
+    private CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object message) {
+        try {
+            return kafkaTemplate.send(topic, key, message);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private void awaitSends(List<CompletableFuture<SendResult<String, Object>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending customer responses", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to send customer responses, batch will be redelivered", e);
         }
     }
     
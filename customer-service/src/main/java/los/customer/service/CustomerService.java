@@ -7,12 +7,24 @@ import los.customer.entity.Customer;
 import los.customer.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +34,9 @@ public class CustomerService {
     
     private final CustomerRepository customerRepository;
     private final CivilServiceClient civilServiceClient;
+    private final CivilScoreRefresher civilScoreRefresher;
+    // Present in ASYNC mode only
+    private final ObjectProvider<CustomerStatePublisher> customerStatePublisher;
     
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
         Customer customer = new Customer();
@@ -33,7 +48,7 @@ public class CustomerService {
         customer.setSsn(customerDTO.getSsn());
         
         Customer saved = customerRepository.save(customer);
-        return convertToDTO(saved);
+        return publishState(convertToDTO(saved));
     }
     
     public CustomerDTO getCustomerById(Long id) {
@@ -43,25 +58,103 @@ public class CustomerService {
     }
     
     /**
-     * Get customer with civil score - fetches from civil-service and caches in customer entity
+     * Get customer with civil score - stored on the customer and revalidated against civil-service.
+     * A valid stored score is served as is; an expired one is still served during the grace
+     * period while it is refreshed in the background; otherwise civil-service is called first.
+     * The customer row is written only when the score actually changed.
+     *
+     * The customer is read before civil-service is called, not concurrently with it: get-or-generate
+     * persists a score for any ID it is given, so an unknown ID must fail here first.
      */
     public CustomerDTO getCustomerWithCivilScore(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
         
-        // Fetch or generate civil score from civil-service
-        CivilScoreDTO civilScore = fetchOrGenerateCivilScore(customer.getId());
+        switch (civilScoreRefresher.check(customer.getCivilScore(), customer.getCivilScoreExpiresAt())) {
+            case FRESH -> {
+                return convertToDTO(customer);
+            }
+            case STALE -> {
+                log.info("Serving stale civil score for customer {} while it is refreshed", id);
+                civilScoreRefresher.refreshInBackground(List.of(id), this::revalidateCivilScores);
+                return convertToDTO(customer);
+            }
+            default -> {
+                // Fetch or generate civil score from civil-service
+                CivilScoreDTO civilScore = fetchOrGenerateCivilScore(id);
+                if (applyCivilScore(customer, civilScore)) {
+                    customerRepository.save(customer);
+                    log.info("Updated customer {} with civil score: {} ({})", 
+                            id, civilScore.getScore(), civilScore.getCategory());
+                    return publishState(convertToDTO(customer));
+                }
+                return convertToDTO(customer);
+            }
+        }
+    }
+    
+    /**
+     * Batch form of {@link #getCustomerWithCivilScore(Long)}: one IN query for the customers, then one
+     * civil-service call for those whose scores are past the grace period (stale ones are refreshed
+     * in the background with another). Changed rows are saved together.
+     * Customers are returned in request order, once per distinct ID; unknown IDs are omitted.
+     * Only customers whose score changed are published to customer-state-topic.
+     */
+    public List<CustomerDTO> getCustomersWithCivilScore(Collection<Long> ids) {
+        List<Long> customerIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
         
-        // Update customer with civil score if valid
-        if (civilScore != null && civilScore.getScore() > 0) {
-            customer.setCivilScore(civilScore.getScore());
-            customer.setCivilScoreCategory(civilScore.getCategory());
-            customerRepository.save(customer);
-            log.info("Updated customer {} with civil score: {} ({})", 
-                    id, civilScore.getScore(), civilScore.getCategory());
+        Set<Long> stale = new HashSet<>();
+        List<Customer> expired = new ArrayList<>();
+        for (Customer customer : customers.values()) {
+            switch (civilScoreRefresher.check(customer.getCivilScore(), customer.getCivilScoreExpiresAt())) {
+                case FRESH -> { }
+                case STALE -> stale.add(customer.getId());
+                default -> expired.add(customer);
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Serving {} stale civil scores while they are refreshed", stale.size());
+            civilScoreRefresher.refreshInBackground(stale, this::revalidateCivilScores);
+        }
+        if (!expired.isEmpty()) {
+            applyCivilScores(expired, fetchOrGenerateCivilScores(expired.stream().map(Customer::getId).toList()));
         }
         
-        return convertToDTO(customer);
+        return customerIds.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Background refresh of stale scores; throws if civil-service could not provide any
+     */
+    private void revalidateCivilScores(List<Long> customerIds) {
+        Map<Long, CivilScoreDTO> civilScores = civilServiceClient.getOrGenerateCivilScores(customerIds).stream()
+                .filter(civilScore -> civilScore.getScore() > 0)
+                .collect(Collectors.toMap(CivilScoreDTO::getCustomerId, Function.identity(), (a, b) -> a));
+        if (civilScores.isEmpty()) {
+            throw new IllegalStateException("civil-service returned no valid scores");
+        }
+        
+        applyCivilScores(customerRepository.findAllById(civilScores.keySet()), civilScores);
+    }
+    
+    /**
+     * Save and publish the customers whose score changed
+     */
+    private void applyCivilScores(List<Customer> customers, Map<Long, CivilScoreDTO> civilScores) {
+        List<Customer> changed = customers.stream()
+                .filter(customer -> applyCivilScore(customer, civilScores.get(customer.getId())))
+                .collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            customerRepository.saveAll(changed);
+            changed.forEach(customer -> publishState(convertToDTO(customer)));
+            log.info("Updated civil scores of {} of {} customers", changed.size(), customers.size());
+        }
     }
     
     /**
@@ -78,37 +171,80 @@ public class CustomerService {
         
         CivilScoreDTO civilScore = civilServiceClient.generateCivilScore(request);
         
-        if (civilScore != null && civilScore.getScore() > 0) {
-            customer.setCivilScore(civilScore.getScore());
-            customer.setCivilScoreCategory(civilScore.getCategory());
+        if (applyCivilScore(customer, civilScore)) {
             customerRepository.save(customer);
             log.info("Refreshed civil score for customer {}: {} ({})", 
                     customerId, civilScore.getScore(), civilScore.getCategory());
+            return publishState(convertToDTO(customer));
         }
         
         return convertToDTO(customer);
     }
     
+    /**
+     * Copy a valid score, and its expiry, onto the customer
+     *
+     * @return true if the customer's score, category or expiry changed
+     */
+    private boolean applyCivilScore(Customer customer, CivilScoreDTO civilScore) {
+        if (civilScore == null || civilScore.getScore() <= 0
+                || (Objects.equals(customer.getCivilScore(), civilScore.getScore())
+                    && Objects.equals(customer.getCivilScoreCategory(), civilScore.getCategory())
+                    && Objects.equals(customer.getCivilScoreExpiresAt(), civilScore.getExpiresAt()))) {
+            return false;
+        }
+        customer.setCivilScore(civilScore.getScore());
+        customer.setCivilScoreCategory(civilScore.getCategory());
+        customer.setCivilScoreExpiresAt(civilScore.getExpiresAt());
+        return true;
+    }
+    
+    /**
+     * Feed customer-state-topic (ASYNC mode), so eligibility-service can look the customer up locally
+     */
+    private CustomerDTO publishState(CustomerDTO customer) {
+        customerStatePublisher.ifAvailable(publisher -> publisher.publish(customer));
+        return customer;
+    }
+    
+    /**
+     * Publish every customer once, page by page, e.g. to seed a new customer-state-topic
+     *
+     * @return customers published
+     */
+    public long publishAllStates(int pageSize) {
+        long published = 0;
+        Pageable page = PageRequest.of(0, pageSize, Sort.by("id"));
+        Slice<Customer> customers;
+        do {
+            customers = customerRepository.findAll(page);
+            customers.forEach(customer -> publishState(convertToDTO(customer)));
+            published += customers.getNumberOfElements();
+            page = customers.nextPageable();
+        } while (customers.hasNext());
+        return published;
+    }
+    
     private CivilScoreDTO fetchOrGenerateCivilScore(Long customerId) {
         try {
-            // First check if customer has a valid civil score
-            Boolean hasValidScore = civilServiceClient.hasValidCivilScore(customerId);
-            
-            if (Boolean.TRUE.equals(hasValidScore)) {
-                // Get existing score
-                return civilServiceClient.getLatestCivilScore(customerId);
-            } else {
-                // Generate new score
-                Map<String, Long> request = new HashMap<>();
-                request.put("customerId", customerId);
-                return civilServiceClient.generateCivilScore(request);
-            }
+            // civil-service returns the valid score or generates one in the same call
+            return civilServiceClient.getOrGenerateCivilScore(customerId);
         } catch (Exception e) {
             log.error("Error fetching civil score for customer {}: {}", customerId, e.getMessage());
             return null;
         }
     }
     
+    private Map<Long, CivilScoreDTO> fetchOrGenerateCivilScores(List<Long> customerIds) {
+        try {
+            return civilServiceClient.getOrGenerateCivilScores(customerIds).stream()
+                    .collect(Collectors.toMap(CivilScoreDTO::getCustomerId, Function.identity(), (a, b) -> a));
+        } catch (Exception e) {
+            log.error("Error fetching civil scores for {} customers: {}", customerIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+    
     public List<CustomerDTO> getAllCustomers() {
         return customerRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -128,7 +264,7 @@ public class CustomerService {
         customer.setSsn(customerDTO.getSsn());
         
         Customer updated = customerRepository.save(customer);
-        return convertToDTO(updated);
+        return publishState(convertToDTO(updated));
     }
     
     private CustomerDTO convertToDTO(Customer customer) {
@@ -142,6 +278,8 @@ public class CustomerService {
         dto.setSsn(customer.getSsn());
         dto.setCivilScore(customer.getCivilScore());
         dto.setCivilScoreCategory(customer.getCivilScoreCategory());
+        // Lets callers (e.g. eligibility-service) cache the customer until the score expires
+        dto.setCivilScoreExpiresAt(customer.getCivilScoreExpiresAt());
         return dto;
     }
 }
@@ -0,0 +1,33 @@
+package los.customer.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds customer-state-topic with every customer once, for a topic created after the customers were.
+ * Reads no longer publish, so customers that do not change would otherwise never reach
+ * eligibility-service's local copy. Enable for one deploy (ASYNC mode), then turn it off again.
+ */
+@Component
+@ConditionalOnProperty(name = "los.customer.state-topic.backfill-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStateBackfill implements ApplicationRunner {
+
+    private final CustomerService customerService;
+
+    @Value("${los.customer.state-topic.backfill-page-size:1000}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Backfilling customer-state-topic");
+        long published = customerService.publishAllStates(pageSize);
+        log.info("Backfilled customer-state-topic with {} customers", published);
+    }
+}
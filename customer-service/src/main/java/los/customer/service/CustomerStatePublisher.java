@@ -0,0 +1,58 @@
+package los.customer.service;
+
+import los.common.dto.CustomerDTO;
+import los.common.messaging.CustomerStateMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes customer and civil score changes to the log-compacted customer-state-topic, keyed by
+ * customer ID, which eligibility-service materializes into a local store (ASYNC mode).
+ */
+@Component
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatePublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Publish once the current transaction commits, or right away outside of one
+     */
+    public void publish(CustomerDTO customer) {
+        boolean validScore = customer.getCivilScore() != null && customer.getCivilScore() > 0;
+        CustomerStateMessage state = new CustomerStateMessage(customer.getId(),
+                validScore ? customer.getCivilScore() : null,
+                validScore ? customer.getCivilScoreCategory() : null,
+                validScore ? customer.getCivilScoreExpiresAt() : null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(state);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(state);
+            }
+        });
+    }
+
+    private void send(CustomerStateMessage state) {
+        String key = String.valueOf(state.getCustomerId());
+        kafkaTemplate.send("customer-state-topic", key, state)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Kafka customer state send failed for key={}: {}", key, ex.getMessage(), ex);
+                    } else {
+                        log.debug("Customer state published for key={}", key);
+                    }
+                });
+    }
+}
@@ -0,0 +1,120 @@
+package los.eligibility.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import los.common.dto.CustomerDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Bounded cache of customers with their civil score, so repeat checks for the same customer
+ * skip the customer-service and civil-service hops.
+ *
+ * An entry lives until its civil score expires, capped at {@code max-ttl} so profile changes
+ * are eventually picked up. Customers without a valid score (including fallbacks returned
+ * while customer-service is unavailable) are never cached. Writes carry a {@link CustomerVersions}
+ * stamp, so a copy read before a customer-state-topic update cannot be cached after its eviction.
+ */
+@Component
+@Slf4j
+public class CustomerCache implements MeterBinder {
+    
+    private final Cache<Long, CustomerDTO> cache;
+    private final CustomerVersions customerVersions;
+    private final Duration maxTtl;
+    private final boolean enabled;
+    
+    public CustomerCache(CustomerVersions customerVersions,
+                         @Value("${los.eligibility.customer-cache.enabled:true}") boolean enabled,
+                         @Value("${los.eligibility.customer-cache.max-size:50000}") long maxSize,
+                         @Value("${los.eligibility.customer-cache.max-ttl:1h}") Duration maxTtl) {
+        this.customerVersions = customerVersions;
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ScoreExpiry())
+                .recordStats()
+                .build();
+    }
+    
+    public CustomerDTO get(Long customerId) {
+        return cache.getIfPresent(customerId);
+    }
+    
+    /**
+     * @param stamp {@link CustomerVersions#stamp} taken before the customer was read
+     */
+    public void put(CustomerDTO customer, long stamp) {
+        if (enabled && customer != null && customer.getId() != null && ttl(customer) > 0) {
+            cache.put(customer.getId(), customer);
+            if (customerVersions.changedSince(customer.getId(), stamp)) {
+                cache.asMap().remove(customer.getId(), customer);
+            }
+        }
+    }
+    
+    public void evict(Long customerId) {
+        cache.invalidate(customerId);
+        log.info("Evicted customer {} from cache", customerId);
+    }
+    
+    public void evictAll(Collection<Long> customerIds) {
+        cache.invalidateAll(customerIds);
+    }
+    
+    public void evictAll() {
+        cache.invalidateAll();
+        log.info("Evicted all customers from cache");
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    private long ttl(CustomerDTO customer) {
+        if (customer.getCivilScore() == null || customer.getCivilScore() <= 0) {
+            return 0;
+        }
+        if (customer.getCivilScoreExpiresAt() == null) {
+            return maxTtl.toNanos();
+        }
+        long untilExpiry = Duration.between(LocalDateTime.now(), customer.getCivilScoreExpiresAt()).toNanos();
+        return Math.min(untilExpiry, maxTtl.toNanos());
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "customers");
+    }
+    
+    private class ScoreExpiry implements Expiry<Long, CustomerDTO> {
+        @Override
+        public long expireAfterCreate(Long customerId, CustomerDTO customer, long currentTime) {
+            return Math.max(0, ttl(customer));
+        }
+        
+        @Override
+        public long expireAfterUpdate(Long customerId, CustomerDTO customer, long currentTime, long currentDuration) {
+            return Math.max(0, ttl(customer));
+        }
+        
+        @Override
+        public long expireAfterRead(Long customerId, CustomerDTO customer, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package los.eligibility.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/customercache - customer cache and decision memo size and hit rate;
+ * DELETE evicts one customer or all of them, together with the decisions made for them
+ */
+@Component
+@Endpoint(id = "customercache")
+@RequiredArgsConstructor
+public class CustomerCacheEndpoint {
+    
+    private final CustomerCache customerCache;
+    private final DecisionMemo decisionMemo;
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of("size", customerCache.size(), "hitRate", customerCache.hitRate(),
+                "decisionMemo", Map.of("size", decisionMemo.size(), "hitRate", decisionMemo.hitRate()));
+    }
+    
+    @DeleteOperation
+    public void evict(@Selector Long customerId) {
+        customerCache.evict(customerId);
+        decisionMemo.evictCustomer(customerId);
+    }
+    
+    @DeleteOperation
+    public void evictAll() {
+        customerCache.evictAll();
+        decisionMemo.evictAll();
+    }
+}
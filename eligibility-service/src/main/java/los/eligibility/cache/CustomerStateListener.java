@@ -0,0 +1,156 @@
+package los.eligibility.cache;
+
+import los.common.messaging.CustomerStateMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materializes customer-state-topic into {@link CustomerStateStore}.
+ * Every instance needs every customer, so instead of joining a consumer group each instance assigns
+ * itself all partitions and replays the compacted topic from the beginning, with no group ID and no
+ * committed offsets (and so no consumer groups left behind by restarts). Lookups miss (and use
+ * request/reply) until caught up. If the consumer fails it is recreated and the topic replayed again.
+ */
+@Component
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+@Slf4j
+public class CustomerStateListener implements SmartLifecycle {
+
+    private static final String TOPIC = "customer-state-topic";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final ConsumerFactory<String, CustomerStateMessage> consumerFactory;
+    private final CustomerStateStore customerStates;
+    private final CustomerVersions customerVersions;
+    private final CustomerCache customerCache;
+    private final DecisionMemo decisionMemo;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private volatile Consumer<String, CustomerStateMessage> consumer;
+    private Thread listenerThread;
+
+    public CustomerStateListener(@Qualifier("customerStateConsumerFactory") ConsumerFactory<String, CustomerStateMessage> consumerFactory,
+                                 CustomerStateStore customerStates,
+                                 CustomerVersions customerVersions,
+                                 CustomerCache customerCache,
+                                 DecisionMemo decisionMemo,
+                                 @Value("${los.eligibility.customer-store.enabled:true}") boolean enabled) {
+        this.consumerFactory = consumerFactory;
+        this.customerStates = customerStates;
+        this.customerVersions = customerVersions;
+        this.customerCache = customerCache;
+        this.decisionMemo = decisionMemo;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "customer-state-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Consumer<String, CustomerStateMessage> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Consumer<String, CustomerStateMessage> current = consumerFactory.createConsumer()) {
+                consumer = current;
+                List<TopicPartition> partitions = current.partitionsFor(TOPIC).stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+                current.assign(partitions);
+                current.seekToBeginning(partitions);
+                log.info("Replaying {} partitions of {} into the customer state store", partitions.size(), TOPIC);
+
+                while (running) {
+                    try {
+                        apply(current.poll(POLL_TIMEOUT));
+                    } catch (RecordDeserializationException e) {
+                        log.warn("Skipping unreadable customer state at {} offset {}: {}",
+                                e.topicPartition(), e.offset(), e.getMessage());
+                        current.seek(e.topicPartition(), e.offset() + 1);
+                    }
+                }
+            } catch (WakeupException e) {
+                // stop() was called
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Customer state consumer failed, replaying {} after reconnecting: {}", TOPIC, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                consumer = null;
+            }
+        }
+    }
+
+    private void apply(ConsumerRecords<String, CustomerStateMessage> records) {
+        // Last write wins within a poll, like compaction
+        Map<Long, CustomerStateMessage> states = new LinkedHashMap<>();
+        for (ConsumerRecord<String, CustomerStateMessage> record : records) {
+            try {
+                states.put(Long.valueOf(record.key()), record.value());
+            } catch (NumberFormatException e) {
+                log.warn("Skipping customer state with invalid key '{}' at offset {}", record.key(), record.offset());
+            }
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        // Copies served before this update must not outlive it; writers still holding one see the
+        // version change and drop it themselves (see CustomerVersions)
+        customerVersions.beginUpdate(states.keySet());
+        try {
+            customerStates.apply(states);
+            customerCache.evictAll(states.keySet());
+            decisionMemo.evictCustomers(states.keySet());
+        } finally {
+            customerVersions.endUpdate(states.keySet());
+        }
+        log.debug("Applied {} customer states", states.size());
+    }
+}
@@ -0,0 +1,204 @@
+package los.eligibility.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import los.common.dto.CustomerDTO;
+import los.common.messaging.CustomerStateMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Local copy of customer-state-topic (ASYNC mode), so most customer lookups never leave the process.
+ * Filled by {@link CustomerStateListener}; the Kafka request/reply path is only used on a miss.
+ *
+ * Only what eligibility needs is kept, packed into one long per customer in a {@link LongLongTable}:
+ * civil score (16 bits), category (8 bits, index into a small interned list) and score expiry
+ * (40 bits, epoch seconds). Customers without a valid score are not stored, and expired
+ * entries read as misses so the fallback fetches a fresh score.
+ *
+ * One writer (the listener) and lock-free optimistic readers.
+ */
+@Component
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+@Slf4j
+public class CustomerStateStore implements MeterBinder, DisposableBean {
+
+    private static final int MAX_SCORE = 0xFFFF;
+    private static final int MAX_CATEGORIES = 0xFF;
+    private static final long MAX_EXPIRY = (1L << 40) - 1;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final LongLongTable table;
+    private final StampedLock lock = new StampedLock();
+    // Packed category i + 1 is categories.get(i); 0 means none
+    private final List<String> categories = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public CustomerStateStore(@Value("${los.eligibility.customer-store.enabled:true}") boolean enabled,
+                              @Value("${los.eligibility.customer-store.initial-capacity:65536}") int initialCapacity,
+                              @Value("${los.eligibility.customer-store.max-entries:10000000}") int maxEntries,
+                              @Value("${los.eligibility.customer-store.spill-dir:}") String spillDir) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.table = new LongLongTable(initialCapacity, spillDir.isBlank() ? null : Path.of(spillDir));
+        if (enabled) {
+            log.info("Customer state store enabled ({})", spillDir.isBlank() ? "heap" : "memory-mapped under " + spillDir);
+        }
+    }
+
+    /**
+     * @return the customer with a valid civil score, or null if unknown, without a score or expired
+     */
+    public CustomerDTO get(Long customerId) {
+        if (!enabled || customerId == null) {
+            return null;
+        }
+        long packed = read(customerId);
+        if (packed == 0 || expiry(packed) <= LocalDateTime.now().toEpochSecond(ZoneOffset.UTC)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(customerId);
+        customer.setCivilScore(score(packed));
+        int category = category(packed);
+        customer.setCivilScoreCategory(category == 0 ? null : categories.get(category - 1));
+        customer.setCivilScoreExpiresAt(LocalDateTime.ofEpochSecond(expiry(packed), 0, ZoneOffset.UTC));
+        return customer;
+    }
+
+    /**
+     * Apply the latest state per customer; a null state removes the customer
+     */
+    public void apply(Map<Long, CustomerStateMessage> states) {
+        long stamp = lock.writeLock();
+        try {
+            states.forEach(this::update);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        updates.add(states.size());
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    private void update(Long customerId, CustomerStateMessage state) {
+        Integer score = state == null ? null : state.getCivilScore();
+        if (score == null || score <= 0 || score > MAX_SCORE) {
+            table.remove(customerId);
+            return;
+        }
+
+        int category = categoryIndex(state.getCivilScoreCategory());
+        long expiry;
+        if (state.getCivilScoreExpiresAt() != null) {
+            expiry = Math.max(0, Math.min(MAX_EXPIRY, state.getCivilScoreExpiresAt().toEpochSecond(ZoneOffset.UTC)));
+        } else {
+            // Profile updates carry no expiry; keep the known one if the score is unchanged
+            long existing = table.get(customerId);
+            expiry = existing != 0 && score(existing) == score && category(existing) == category ? expiry(existing) : 0;
+        }
+
+        if (table.size() >= maxEntries && table.get(customerId) == 0) {
+            dropped.increment();
+            return;
+        }
+        if (!table.put(customerId, pack(score, category, expiry))) {
+            dropped.increment();
+        }
+    }
+
+    private long read(long customerId) {
+        long stamp = lock.tryOptimisticRead();
+        long packed = table.get(customerId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                packed = table.get(customerId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return packed;
+    }
+
+    private int categoryIndex(String category) {
+        if (category == null) {
+            return 0;
+        }
+        int index = categories.indexOf(category);
+        if (index < 0) {
+            if (categories.size() >= MAX_CATEGORIES) {
+                return 0;
+            }
+            categories.add(category);
+            index = categories.size() - 1;
+        }
+        return index + 1;
+    }
+
+    private static long pack(int score, int category, long expiry) {
+        return expiry << 24 | (long) category << 16 | score;
+    }
+
+    private static int score(long packed) {
+        return (int) (packed & MAX_SCORE);
+    }
+
+    private static int category(long packed) {
+        return (int) (packed >>> 16 & MAX_CATEGORIES);
+    }
+
+    private static long expiry(long packed) {
+        return packed >>> 24;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("los.customer.store.entries", table, LongLongTable::size)
+                .description("Customers with a civil score in the local customer-state-topic copy")
+                .register(registry);
+        Gauge.builder("los.customer.store.capacity", table, LongLongTable::capacity)
+                .register(registry);
+        FunctionCounter.builder("los.customer.store.hits", hits, LongAdder::sum)
+                .description("Customer lookups served locally")
+                .register(registry);
+        FunctionCounter.builder("los.customer.store.misses", misses, LongAdder::sum)
+                .description("Customer lookups that fell back to Kafka request/reply")
+                .register(registry);
+        FunctionCounter.builder("los.customer.store.updates", updates, LongAdder::sum)
+                .description("customer-state-topic records applied")
+                .register(registry);
+        FunctionCounter.builder("los.customer.store.dropped", dropped, LongAdder::sum)
+                .description("New customers not stored because max-entries was reached")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        table.close();
+    }
+}
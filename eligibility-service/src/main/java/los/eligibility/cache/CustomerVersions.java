@@ -0,0 +1,57 @@
+package los.eligibility.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-customer versions, so copies read before a customer changed do not outlive the change.
+ *
+ * {@link CustomerStateListener} brackets each update (new state applied, copies in {@link CustomerCache}
+ * and {@link DecisionMemo} evicted) with {@link #beginUpdate} and {@link #endUpdate}, like a seqlock:
+ * the version is odd while the update is under way. Whoever writes a copy takes a {@link #stamp}
+ * before reading the customer, and after writing checks {@link #changedSince}; if the stamp was odd
+ * or the version moved, the eviction may already have passed and the writer drops its own copy.
+ *
+ * Versions are striped by customer ID, so memory stays fixed; customers sharing a stripe only
+ * cost each other an occasional dropped cache write. There must be a single updating thread.
+ */
+@Component
+public class CustomerVersions {
+    
+    private static final int STRIPE_BITS = 12;
+    
+    private final AtomicLongArray versions = new AtomicLongArray(1 << STRIPE_BITS);
+    
+    public long stamp(Long customerId) {
+        return customerId != null ? versions.get(stripe(customerId)) : 0;
+    }
+    
+    /**
+     * @return true if a copy read after taking {@code stamp} may predate the customer's current state
+     */
+    public boolean changedSince(Long customerId, long stamp) {
+        return customerId != null && ((stamp & 1) != 0 || versions.get(stripe(customerId)) != stamp);
+    }
+    
+    public void beginUpdate(Collection<Long> customerIds) {
+        advance(customerIds);
+    }
+    
+    public void endUpdate(Collection<Long> customerIds) {
+        advance(customerIds);
+    }
+    
+    private void advance(Collection<Long> customerIds) {
+        // Once per stripe, so each stays odd during an update and even outside one
+        BitSet stripes = new BitSet(versions.length());
+        customerIds.forEach(customerId -> stripes.set(stripe(customerId)));
+        stripes.stream().forEach(versions::incrementAndGet);
+    }
+    
+    private static int stripe(long customerId) {
+        return (int) (customerId * 0x9E3779B97F4A7C15L >>> (Long.SIZE - STRIPE_BITS));
+    }
+}
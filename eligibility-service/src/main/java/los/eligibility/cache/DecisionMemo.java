@@ -0,0 +1,211 @@
+package los.eligibility.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityRequestDTO;
+import los.common.dto.EligibilityResponseDTO;
+import los.common.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded memo of eligibility decisions, so identical retries and re-quotes skip both the
+ * customer lookup and the evaluation.
+ *
+ * Keys are the normalized decision inputs (amounts in cents) plus the rule set version, so a
+ * rule change makes every older entry unreachable. The civil score is not part of the key
+ * because it is only known after the customer lookup; instead an entry lives no longer than
+ * the score it was decided on, like {@link CustomerCache}. Only decisions for customers with
+ * a valid score are memoized.
+ *
+ * Keys are also indexed by customer, so evicting a customer touches only that customer's entries.
+ * The index is updated inside the cache's own computation for the key (adds in {@link #remember},
+ * removals in the eviction listener), so it cannot disagree with the cache about a live entry.
+ * Like {@link CustomerCache}, writes carry a {@link CustomerVersions} stamp, so a decision made on
+ * a customer read before an update is dropped rather than memoized after the update's eviction.
+ */
+@Component
+@Slf4j
+public class DecisionMemo implements MeterBinder {
+    
+    private static final long ABSENT = Long.MIN_VALUE;
+    
+    private final Cache<Key, Entry> cache;
+    // Sets are only touched inside compute on their customer's mapping
+    private final Map<Long, Set<Key>> keysByCustomer = new ConcurrentHashMap<>();
+    private final CustomerVersions customerVersions;
+    private final Duration maxTtl;
+    private final boolean enabled;
+    
+    public DecisionMemo(CustomerVersions customerVersions,
+                        @Value("${los.eligibility.decision-memo.enabled:true}") boolean enabled,
+                        @Value("${los.eligibility.decision-memo.max-size:100000}") long maxSize,
+                        @Value("${los.eligibility.decision-memo.max-ttl:10m}") Duration maxTtl) {
+        this.customerVersions = customerVersions;
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ScoreExpiry())
+                .evictionListener((Key key, Entry entry, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * Normalized inputs of one decision. Loan purpose is left out since it does not affect the result.
+     */
+    public record Key(long customerId, long amountCents, int termMonths, long incomeCents, long expensesCents,
+                      long rulesVersion) {
+    }
+    
+    /**
+     * @return null if the request lacks the inputs needed to identify a decision
+     */
+    public Key key(EligibilityRequestDTO request, long rulesVersion) {
+        if (!enabled || request.getCustomerId() == null || request.getRequestedLoanAmount() == null) {
+            return null;
+        }
+        return new Key(request.getCustomerId(), request.getRequestedLoanAmount().cents(),
+                request.getLoanTermMonths() != null ? request.getLoanTermMonths() : -1,
+                cents(request.getMonthlyIncome()), cents(request.getMonthlyExpenses()), rulesVersion);
+    }
+    
+    /**
+     * @return a copy of the memoized decision, or null
+     */
+    public EligibilityResponseDTO get(Key key) {
+        Entry entry = key != null ? cache.getIfPresent(key) : null;
+        return entry != null ? copy(entry.response()) : null;
+    }
+    
+    /**
+     * Memoize a decision made for {@code customer}, and return it
+     *
+     * @param stamp {@link CustomerVersions#stamp} taken before the customer was read
+     */
+    public EligibilityResponseDTO remember(Key key, CustomerDTO customer, long stamp, EligibilityResponseDTO response) {
+        if (key != null && customer != null) {
+            Entry entry = new Entry(copy(response), customer.getCivilScore(), customer.getCivilScoreExpiresAt());
+            if (ttl(entry) > 0) {
+                cache.asMap().compute(key, (k, previous) -> {
+                    index(k);
+                    return entry;
+                });
+                if (customerVersions.changedSince(key.customerId(), stamp)) {
+                    cache.asMap().computeIfPresent(key, (k, current) -> {
+                        if (current != entry) {
+                            return current;
+                        }
+                        unindex(k);
+                        return null;
+                    });
+                }
+            }
+        }
+        return response;
+    }
+    
+    /**
+     * Drop every decision for one customer, e.g. when their data is known to have changed
+     */
+    public void evictCustomer(Long customerId) {
+        Set<Key> keys = keysByCustomer.remove(customerId);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+    
+    public void evictCustomers(Collection<Long> customerIds) {
+        customerIds.forEach(this::evictCustomer);
+    }
+    
+    public void evictAll() {
+        cache.invalidateAll();
+        keysByCustomer.clear();
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    private void index(Key key) {
+        keysByCustomer.compute(key.customerId(), (customerId, keys) -> {
+            Set<Key> indexed = keys != null ? keys : new HashSet<>();
+            indexed.add(key);
+            return indexed;
+        });
+    }
+    
+    private void unindex(Key key) {
+        keysByCustomer.computeIfPresent(key.customerId(), (customerId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+    
+    private static long cents(Money amount) {
+        return amount != null ? amount.cents() : ABSENT;
+    }
+    
+    private static EligibilityResponseDTO copy(EligibilityResponseDTO response) {
+        return new EligibilityResponseDTO(response.getCustomerId(), response.getEligible(),
+                response.getEligibleLoanAmount(), response.getReason(), null,
+                response.getRecommendedInterestRate(), response.getRecommendedTermMonths());
+    }
+    
+    private long ttl(Entry entry) {
+        if (entry.civilScore() == null || entry.civilScore() <= 0) {
+            return 0;
+        }
+        if (entry.scoreExpiresAt() == null) {
+            return maxTtl.toNanos();
+        }
+        long untilExpiry = Duration.between(LocalDateTime.now(), entry.scoreExpiresAt()).toNanos();
+        return Math.min(untilExpiry, maxTtl.toNanos());
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "eligibilityDecisions");
+    }
+    
+    private record Entry(EligibilityResponseDTO response, Integer civilScore, LocalDateTime scoreExpiresAt) {
+    }
+    
+    private class ScoreExpiry implements Expiry<Key, Entry> {
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return Math.max(0, ttl(entry));
+        }
+        
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return Math.max(0, ttl(entry));
+        }
+        
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package los.eligibility.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Open-addressing (linear probing) hash table from long keys to non-zero long values.
+ * Slots are interleaved key/value pairs in one {@link LongBuffer}: 16 bytes per slot and no
+ * per-entry objects, boxing or GC pressure. A value of 0 marks an empty slot.
+ *
+ * The buffer lives on the heap, or in a memory-mapped file under {@code spillDir} so the OS can
+ * page a large table out instead of it counting against the heap. Files are recreated on startup.
+ *
+ * Not thread-safe. {@link #get} tolerates a concurrent writer in the sense that it always
+ * terminates and never reads out of bounds; callers validate such reads (e.g. with a StampedLock).
+ */
+final class LongLongTable {
+
+    private static final double MAX_LOAD = 0.7;
+    // 2^26 slots = 1 GiB, well below the 2 GiB limit of one mapping
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private final Path spillDir;
+    private LongBuffer slots;
+    private Path file;
+    private int generation;
+    private int size;
+
+    LongLongTable(int initialCapacity, Path spillDir) {
+        this.spillDir = spillDir;
+        int capacity = Math.min(MAX_CAPACITY, Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1));
+        this.slots = allocate(capacity);
+    }
+
+    /**
+     * @return the value, or 0 if the key is absent
+     */
+    long get(long key) {
+        LongBuffer table = slots;
+        int capacity = table.capacity() >>> 1;
+        int mask = capacity - 1;
+        int i = index(key, mask);
+        for (int probes = 0; probes < capacity; probes++, i = (i + 1) & mask) {
+            long value = table.get(2 * i + 1);
+            if (value == 0) {
+                return 0;
+            }
+            if (table.get(2 * i) == key) {
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return false if the key is new and the table cannot grow any further
+     */
+    boolean put(long key, long value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("0 is reserved for empty slots");
+        }
+        int i = slotOf(key);
+        if (slots.get(2 * i + 1) != 0) {
+            slots.put(2 * i + 1, value);
+            return true;
+        }
+        if (size + 1 > capacity() * MAX_LOAD) {
+            if (capacity() >= MAX_CAPACITY) {
+                return false;
+            }
+            resize(capacity() << 1);
+            i = slotOf(key);
+        }
+        slots.put(2 * i, key);
+        slots.put(2 * i + 1, value);
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove with backward-shift deletion, so no tombstones accumulate
+     */
+    void remove(long key) {
+        int i = slotOf(key);
+        if (slots.get(2 * i + 1) == 0) {
+            return;
+        }
+        int mask = capacity() - 1;
+        int hole = i;
+        for (int j = (hole + 1) & mask; slots.get(2 * j + 1) != 0; j = (j + 1) & mask) {
+            int home = index(slots.get(2 * j), mask);
+            // Move j into the hole unless its home slot lies cyclically in (hole, j]
+            boolean stays = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!stays) {
+                slots.put(2 * hole, slots.get(2 * j));
+                slots.put(2 * hole + 1, slots.get(2 * j + 1));
+                hole = j;
+            }
+        }
+        slots.put(2 * hole, 0);
+        slots.put(2 * hole + 1, 0);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.capacity() >>> 1;
+    }
+
+    void close() {
+        deleteFile(file);
+    }
+
+    /**
+     * Slot holding the key, or the empty slot where it would go
+     */
+    private int slotOf(long key) {
+        int mask = capacity() - 1;
+        int i = index(key, mask);
+        while (slots.get(2 * i + 1) != 0 && slots.get(2 * i) != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void resize(int newCapacity) {
+        LongBuffer old = slots;
+        Path oldFile = file;
+        LongBuffer resized = allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < old.capacity() >>> 1; i++) {
+            long value = old.get(2 * i + 1);
+            if (value != 0) {
+                long key = old.get(2 * i);
+                int j = index(key, mask);
+                while (resized.get(2 * j + 1) != 0) {
+                    j = (j + 1) & mask;
+                }
+                resized.put(2 * j, key);
+                resized.put(2 * j + 1, value);
+            }
+        }
+        slots = resized;
+        // An unlinked file stays readable through mappings that still reference it
+        deleteFile(oldFile);
+    }
+
+    private LongBuffer allocate(int capacity) {
+        if (spillDir == null) {
+            return LongBuffer.allocate(2 * capacity);
+        }
+        try {
+            Files.createDirectories(spillDir);
+            file = spillDir.resolve("customer-states-" + ProcessHandle.current().pid() + "-" + generation++ + ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // A new file reads as zeros, i.e. all slots empty
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, 16L * capacity).asLongBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map customer state table under " + spillDir, e);
+        }
+    }
+
+    private static void deleteFile(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Left for the next cleanup of the spill directory
+            }
+        }
+    }
+
+    static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -4,6 +4,10 @@ import los.common.dto.CustomerDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 @FeignClient(name = "customer-service")
 public interface CustomerServiceClient {
@@ -16,4 +20,10 @@ public interface CustomerServiceClient {
      */
     @GetMapping("/api/customers/{id}/with-civil-score")
     CustomerDTO getCustomerWithCivilScore(@PathVariable("id") Long id);
+    
+    /**
+     * Get many customers with civil scores in one call; unknown IDs are omitted
+     */
+    @PostMapping("/api/customers/bulk")
+    List<CustomerDTO> getCustomersWithCivilScore(@RequestBody List<Long> ids);
 }
@@ -6,18 +6,30 @@ import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import los.common.messaging.CustomerBatchRequestMessage;
+import los.common.messaging.CustomerBatchResponseMessage;
 import los.common.messaging.CustomerRequestMessage;
 import los.common.messaging.CustomerResponseMessage;
+import los.common.messaging.PendingRequestRegistry;
+import los.eligibility.cache.CustomerStateStore;
 
 @Component
 @ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
@@ -26,19 +38,48 @@ import los.common.messaging.CustomerResponseMessage;
 public class AsyncCommunicationStrategy implements CommunicationStrategy {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final Map<String, CompletableFuture<CustomerDTO>> customerRequests = new ConcurrentHashMap<>();
+    private final PendingRequestRegistry<CustomerDTO> customerRequests;
+    private final PendingRequestRegistry<List<CustomerDTO>> customerBatchRequests;
+    private final CustomerStateStore customerStates;
+    
+    @Value("${los.eligibility.customer-lookup.batch-size:500}")
+    private int lookupBatchSize;
 
     /**
      * Get customer by ID via Kafka (ASYNC)
-     * Note: Kafka handles broker failures internally. We use timeout + fallback for response handling.
+     * Blocks until the response arrives. Used by the REST endpoints; the eligibility-request-topic
+     * listener goes through {@link #getCustomersByIdsAsync(Collection)} instead.
      */
     @Override
     public CustomerDTO getCustomerById(Long customerId) {
+        return getCustomerByIdAsync(customerId).toCompletableFuture().join();
+    }
+
+    /**
+     * Get customer by ID from the local customer-state-topic copy, or via Kafka request/reply on a miss,
+     * without parking the calling thread.
+     * The returned stage completes when customer-response-topic delivers the reply,
+     * or with a fallback customer on send failure, timeout or registry overflow.
+     * Note: Kafka handles broker failures internally. We use timeout + fallback for response handling.
+     */
+    @Override
+    public CompletionStage<CustomerDTO> getCustomerByIdAsync(Long customerId) {
+        CustomerDTO local = customerStates.get(customerId);
+        if (local != null) {
+            log.debug("Customer {} served from customer state store", customerId);
+            return CompletableFuture.completedFuture(local);
+        }
         log.info("Requesting customer {} via Kafka (ASYNC)", customerId);
 
-        String correlationId = "customer-request-" + System.currentTimeMillis() + "-" + customerId;
-        CompletableFuture<CustomerDTO> future = new CompletableFuture<>();
-        customerRequests.put(correlationId, future);
+        // Must be unique while pending: the same customer can be looked up concurrently
+        String correlationId = "customer-request-" + System.currentTimeMillis() + "-" + customerId + "-" + UUID.randomUUID();
+        CompletableFuture<CustomerDTO> future;
+        try {
+            future = customerRequests.register(correlationId);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many customer requests in flight, using fallback for customer: {}", customerId);
+            return CompletableFuture.completedFuture(createFallbackCustomer(customerId, e.getMessage()));
+        }
 
         // Send request to Kafka
         CustomerRequestMessage request = new CustomerRequestMessage(correlationId, customerId);
@@ -46,8 +87,7 @@ public class AsyncCommunicationStrategy implements CommunicationStrategy {
                 .whenComplete((result, ex) -> {
                     if (ex != null) {
                         log.error("Kafka request send failed for key={}: {}", correlationId, ex.getMessage(), ex);
-                        customerRequests.remove(correlationId);
-                        future.completeExceptionally(ex);
+                        customerRequests.fail(correlationId, ex);
                     } else if (result != null && result.getRecordMetadata() != null) {
                         log.info("Kafka request sent: topic={}, partition={}, offset={}, key={}",
                                 result.getRecordMetadata().topic(),
@@ -59,25 +99,104 @@ public class AsyncCommunicationStrategy implements CommunicationStrategy {
                     }
                 });
 
-        try {
-            // Wait for response (with timeout of 30 seconds)
-            CustomerDTO customer = future.get(30, TimeUnit.SECONDS);
+        // The registry times the request out (los.pending-requests.timeout)
+        return future.handle((customer, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof TimeoutException) {
+                    log.error("Timeout waiting for customer {} response from Kafka", customerId);
+                    return createFallbackCustomer(customerId, "Request timed out");
+                }
+                log.error("Error fetching customer via Kafka: {}", cause.getMessage());
+                return createFallbackCustomer(customerId, cause.getMessage());
+            }
             if (customer == null) {
                 log.warn("Customer not found, using fallback for customer: {}", customerId);
                 return createFallbackCustomer(customerId, "Customer not found");
             }
             return customer;
-        } catch (java.util.concurrent.TimeoutException e) {
-            log.error("Timeout waiting for customer {} response from Kafka", customerId);
-            customerRequests.remove(correlationId);
-            return createFallbackCustomer(customerId, "Request timed out");
-        } catch (Exception e) {
-            log.error("Error fetching customer via Kafka: {}", e.getMessage());
-            customerRequests.remove(correlationId);
-            return createFallbackCustomer(customerId, e.getMessage());
-        }
+        });
     }
 
+    /**
+     * Blocking variant of {@link #getCustomersByIdsAsync(Collection)}
+     */
+    @Override
+    public Map<Long, CustomerDTO> getCustomersByIds(Collection<Long> customerIds) {
+        return getCustomersByIdsAsync(customerIds).toCompletableFuture().join();
+    }
+    
+    /**
+     * Get many customers from the local customer-state-topic copy, and the misses via
+     * customer-batch-request-topic: one request/reply per {@code batch-size} IDs instead of one per
+     * customer. All batches are sent at once and nothing waits for the replies; the returned stage
+     * completes on the reply listener (or the registry's timeout) once the last one is in.
+     * Unknown customers map to null; a batch that fails or times out gets fallback customers.
+     */
+    @Override
+    public CompletionStage<Map<Long, CustomerDTO>> getCustomersByIdsAsync(Collection<Long> customerIds) {
+        Map<Long, CustomerDTO> customers = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (Long customerId : new LinkedHashSet<>(customerIds)) {
+            CustomerDTO local = customerStates.get(customerId);
+            customers.put(customerId, local);
+            if (local == null) {
+                ids.add(customerId);
+            }
+        }
+        
+        List<List<Long>> chunks = new ArrayList<>();
+        List<CompletableFuture<List<CustomerDTO>>> replies = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += lookupBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + lookupBatchSize));
+            chunks.add(chunk);
+            replies.add(requestCustomerBatch(chunk));
+        }
+        
+        return CompletableFuture.allOf(replies.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            for (int i = 0; i < chunks.size(); i++) {
+                List<CustomerDTO> reply = replies.get(i).join();
+                if (reply == null) {
+                    chunks.get(i).forEach(id -> customers.put(id, createFallbackCustomer(id, "Batch lookup failed")));
+                } else {
+                    reply.forEach(customer -> customers.put(customer.getId(), customer));
+                }
+            }
+            return customers;
+        });
+    }
+    
+    /**
+     * @return a stage completing with the customers found, or with null if the batch failed
+     */
+    private CompletableFuture<List<CustomerDTO>> requestCustomerBatch(List<Long> customerIds) {
+        log.info("Requesting {} customers via Kafka (ASYNC)", customerIds.size());
+        
+        String correlationId = "customer-batch-request-" + UUID.randomUUID();
+        CompletableFuture<List<CustomerDTO>> future;
+        try {
+            future = customerBatchRequests.register(correlationId);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many customer batch requests in flight, using fallback for {} customers", customerIds.size());
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        CustomerBatchRequestMessage request = new CustomerBatchRequestMessage(correlationId, List.copyOf(customerIds));
+        kafkaTemplate.send("customer-batch-request-topic", correlationId, request)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Kafka batch request send failed for key={}: {}", correlationId, ex.getMessage(), ex);
+                        customerBatchRequests.fail(correlationId, ex);
+                    }
+                });
+        
+        return future.exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            log.error("Error fetching {} customers via Kafka: {}", customerIds.size(), cause.getMessage());
+            return null;
+        });
+    }
+    
     /**
      * Create fallback customer when Kafka communication fails or times out
      */
@@ -96,9 +215,17 @@ public class AsyncCommunicationStrategy implements CommunicationStrategy {
     @KafkaListener(topics = "customer-response-topic", groupId = "eligibility-service-group", containerFactory = "customerResponseKafkaListenerContainerFactory")
     public void handleCustomerResponse(CustomerResponseMessage response) {
         log.info("Received customer response(Async:Kafka) for correlation ID: {}", response.getCorrelationId());
-        CompletableFuture<CustomerDTO> future = customerRequests.remove(response.getCorrelationId());
-        if (future != null) {
-            future.complete(response.getCustomer());
+        customerRequests.complete(response.getCorrelationId(), response.getCustomer());
+    }
+
+    @KafkaListener(topics = "customer-batch-response-topic", groupId = "eligibility-service-group", containerFactory = "customerBatchResponseKafkaListenerContainerFactory")
+    public void handleCustomerBatchResponse(CustomerBatchResponseMessage response) {
+        log.info("Received customer batch response(Async:Kafka) for correlation ID: {}", response.getCorrelationId());
+        if (response.getCustomers() == null) {
+            customerBatchRequests.fail(response.getCorrelationId(),
+                    new IllegalStateException("customer-service could not process the batch"));
+        } else {
+            customerBatchRequests.complete(response.getCorrelationId(), response.getCustomers());
         }
     }
 
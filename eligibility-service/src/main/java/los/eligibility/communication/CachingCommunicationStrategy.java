@@ -0,0 +1,135 @@
+package los.eligibility.communication;
+
+import los.common.communication.CommunicationStrategy;
+import los.common.communication.SingleFlight;
+import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityRequestDTO;
+import los.common.dto.EligibilityResponseDTO;
+import los.eligibility.cache.CustomerCache;
+import los.eligibility.cache.CustomerVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Serves customer lookups from {@link CustomerCache} and sends only misses to the
+ * SYNC (Feign) or ASYNC (Kafka) strategy it wraps. Concurrent misses for the same
+ * customer share one remote lookup. Versions are stamped before each lookup, so a customer read
+ * just before a customer-state-topic update is not cached after it (see {@link CustomerVersions}).
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class CachingCommunicationStrategy implements CommunicationStrategy {
+    
+    private final CommunicationStrategy delegate;
+    private final CustomerCache customerCache;
+    private final CustomerVersions customerVersions;
+    private final SingleFlight<Long, CustomerDTO> customerLookups;
+    
+    @Override
+    public CustomerDTO getCustomerById(Long customerId) {
+        CustomerDTO cached = customerCache.get(customerId);
+        if (cached != null) {
+            log.debug("Customer {} served from cache", customerId);
+            return cached;
+        }
+        // The first caller does the blocking lookup; concurrent callers wait for its result
+        return join(customerLookups.execute(customerId, () -> {
+            long stamp = customerVersions.stamp(customerId);
+            return CompletableFuture.completedFuture(cache(delegate.getCustomerById(customerId), stamp));
+        }));
+    }
+    
+    @Override
+    public CompletionStage<CustomerDTO> getCustomerByIdAsync(Long customerId) {
+        CustomerDTO cached = customerCache.get(customerId);
+        if (cached != null) {
+            log.debug("Customer {} served from cache", customerId);
+            return CompletableFuture.completedFuture(cached);
+        }
+        return customerLookups.execute(customerId, () -> {
+            long stamp = customerVersions.stamp(customerId);
+            return delegate.getCustomerByIdAsync(customerId).thenApply(customer -> cache(customer, stamp));
+        });
+    }
+    
+    @Override
+    public Map<Long, CustomerDTO> getCustomersByIds(Collection<Long> customerIds) {
+        return lookupAll(customerIds, ids -> CompletableFuture.completedFuture(delegate.getCustomersByIds(ids))).join();
+    }
+    
+    @Override
+    public CompletionStage<Map<Long, CustomerDTO>> getCustomersByIdsAsync(Collection<Long> customerIds) {
+        return lookupAll(customerIds, delegate::getCustomersByIdsAsync);
+    }
+    
+    /**
+     * Cached customers, plus one call to {@code load} for the misses nobody else is already loading
+     */
+    private CompletableFuture<Map<Long, CustomerDTO>> lookupAll(Collection<Long> customerIds,
+            Function<List<Long>, CompletionStage<Map<Long, CustomerDTO>>> load) {
+        Map<Long, CustomerDTO> cached = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long customerId : new LinkedHashSet<>(customerIds)) {
+            CustomerDTO customer = customerCache.get(customerId);
+            if (customer != null) {
+                cached.put(customerId, customer);
+            } else {
+                misses.add(customerId);
+            }
+        }
+        log.debug("Customer batch: {} cached, {} looked up", cached.size(), misses.size());
+        if (misses.isEmpty()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        Map<Long, CompletableFuture<CustomerDTO>> lookups = customerLookups.executeAllAsync(misses,
+                ids -> {
+                    Map<Long, Long> stamps = new HashMap<>();
+                    ids.forEach(id -> stamps.put(id, customerVersions.stamp(id)));
+                    return load.apply(ids).thenApply(fetched -> {
+                        // An odd stamp counts as changed: customers that were not asked for are not cached
+                        fetched.forEach((id, customer) -> cache(customer, stamps.getOrDefault(id, 1L)));
+                        return fetched;
+                    });
+                });
+        return CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, ex) -> {
+                    Map<Long, CustomerDTO> customers = new LinkedHashMap<>(cached);
+                    lookups.forEach((customerId, lookup) -> customers.put(customerId, lookup.exceptionally(e -> null).join()));
+                    return customers;
+                });
+    }
+    
+    private CustomerDTO cache(CustomerDTO customer, long stamp) {
+        customerCache.put(customer, stamp);
+        return customer;
+    }
+    
+    private static CustomerDTO join(CompletableFuture<CustomerDTO> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    @Override
+    public EligibilityResponseDTO checkEligibility(EligibilityRequestDTO request) {
+        return delegate.checkEligibility(request);
+    }
+}
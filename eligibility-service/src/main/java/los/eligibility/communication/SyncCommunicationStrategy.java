@@ -10,9 +10,17 @@ import los.common.dto.EligibilityResponseDTO;
 import los.eligibility.client.CustomerServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @ConditionalOnProperty(name = "los.communication.mode", havingValue = "SYNC")
 @RequiredArgsConstructor
@@ -21,6 +29,9 @@ public class SyncCommunicationStrategy implements CommunicationStrategy {
     
     private final CustomerServiceClient customerServiceClient;
     
+    @Value("${los.eligibility.customer-lookup.batch-size:500}")
+    private int lookupBatchSize;
+    
     /**
      * Get customer by ID via Feign with Circuit Breaker and Retry
      * Now fetches customer WITH civil score for eligibility decisions
@@ -43,6 +54,35 @@ public class SyncCommunicationStrategy implements CommunicationStrategy {
         }
     }
     
+    /**
+     * Get many customers with civil scores via POST /api/customers/bulk: one round trip per
+     * {@code batch-size} IDs instead of one per customer. Unknown customers map to null.
+     */
+    @Override
+    @CircuitBreaker(name = "customerService", fallbackMethod = "getCustomersByIdsFallback")
+    @Retry(name = "customerService", fallbackMethod = "getCustomersByIdsFallback")
+    @Bulkhead(name = "customerService")
+    public Map<Long, CustomerDTO> getCustomersByIds(Collection<Long> customerIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(customerIds));
+        log.info("Fetching {} customers with civil score via Feign client (SYNC) in batches of {}", 
+                ids.size(), lookupBatchSize);
+        
+        Map<Long, CustomerDTO> customers = new LinkedHashMap<>();
+        ids.forEach(id -> customers.put(id, null));
+        try {
+            for (int from = 0; from < ids.size(); from += lookupBatchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + lookupBatchSize));
+                for (CustomerDTO customer : customerServiceClient.getCustomersWithCivilScore(chunk)) {
+                    customers.put(customer.getId(), customer);
+                }
+            }
+            return customers;
+        } catch (Exception e) {
+            log.error("Error fetching customers via Feign: {}", e.getMessage());
+            throw new RuntimeException("Failed to fetch customers: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Fallback method when customer service is unavailable
      */
@@ -50,14 +90,29 @@ public class SyncCommunicationStrategy implements CommunicationStrategy {
         log.warn("Customer Service Circuit Breaker fallback triggered for customer: {}. Error: {}", 
                 customerId, ex.getMessage());
         
+        log.info("Returning fallback customer for ID: {}", customerId);
+        return createFallbackCustomer(customerId);
+    }
+    
+    /**
+     * Batch fallback: every requested customer gets a fallback customer, as in the single lookup
+     */
+    public Map<Long, CustomerDTO> getCustomersByIdsFallback(Collection<Long> customerIds, Exception ex) {
+        log.warn("Customer Service Circuit Breaker fallback triggered for {} customers. Error: {}", 
+                customerIds.size(), ex.getMessage());
+        
+        Map<Long, CustomerDTO> customers = new LinkedHashMap<>();
+        customerIds.forEach(id -> customers.put(id, createFallbackCustomer(id)));
+        return customers;
+    }
+    
+    private CustomerDTO createFallbackCustomer(Long customerId) {
         // Return a fallback customer with default values
         CustomerDTO fallbackCustomer = new CustomerDTO();
         fallbackCustomer.setId(customerId);
         fallbackCustomer.setName("Unknown Customer (Fallback)");
         fallbackCustomer.setEmail("unknown@fallback.com");
         fallbackCustomer.setPhone("000-000-0000");
-        
-        log.info("Returning fallback customer for ID: {}", customerId);
         return fallbackCustomer;
     }
     
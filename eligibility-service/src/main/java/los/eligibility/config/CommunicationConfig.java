@@ -1,10 +1,16 @@
 package los.eligibility.config;
 
 import los.common.communication.CommunicationStrategy;
+import los.common.communication.SingleFlight;
+import los.common.dto.CustomerDTO;
+import los.eligibility.cache.CustomerCache;
+import los.eligibility.cache.CustomerVersions;
 import los.eligibility.communication.AsyncCommunicationStrategy;
+import los.eligibility.communication.CachingCommunicationStrategy;
+import los.eligibility.communication.SyncCommunicationStrategy;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -22,5 +28,30 @@ public class CommunicationConfig {
         // This should not be used as we expect one of the conditional beans
         throw new IllegalStateException("No communication strategy configured. Set los.communication.mode to SYNC or ASYNC");
     }
+    
+    @Bean
+    public SingleFlight<Long, CustomerDTO> customerLookups() {
+        return new SingleFlight<>("customer-lookups");
+    }
+    
+    /**
+     * Customer cache and lookup coalescing in front of whichever strategy los.communication.mode selected
+     */
+    @Bean
+    @Primary
+    public CommunicationStrategy cachingCommunicationStrategy(ObjectProvider<SyncCommunicationStrategy> syncStrategy,
+                                                              ObjectProvider<AsyncCommunicationStrategy> asyncStrategy,
+                                                              CustomerCache customerCache,
+                                                              CustomerVersions customerVersions,
+                                                              SingleFlight<Long, CustomerDTO> customerLookups) {
+        CommunicationStrategy delegate = syncStrategy.getIfAvailable();
+        if (delegate == null) {
+            delegate = asyncStrategy.getIfAvailable();
+        }
+        if (delegate == null) {
+            throw new IllegalStateException("No communication strategy configured. Set los.communication.mode to SYNC or ASYNC");
+        }
+        return new CachingCommunicationStrategy(delegate, customerCache, customerVersions, customerLookups);
+    }
 
 }
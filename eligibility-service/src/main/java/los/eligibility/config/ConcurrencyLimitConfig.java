@@ -0,0 +1,45 @@
+package los.eligibility.config;
+
+import los.eligibility.service.ConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Separate adaptive limits for POST /check and the eligibility-request-topic listener.
+ * A Kafka batch of hundreds of requests is one unit of its own limiter, so it neither crowds out
+ * REST checks nor feeds multi-second batch latencies into the REST latency gradient.
+ * Both are exposed as MeterBinders, tagged by path.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    @Primary
+    public ConcurrencyLimiter restConcurrencyLimiter(
+            @Value("${los.eligibility.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${los.eligibility.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${los.eligibility.concurrency-limit.min-limit:5}") int minLimit,
+            @Value("${los.eligibility.concurrency-limit.max-limit:1000}") int maxLimit,
+            @Value("${los.eligibility.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${los.eligibility.concurrency-limit.smoothing:0.2}") double smoothing) {
+        return new ConcurrencyLimiter("rest", enabled, initialLimit, minLimit, maxLimit, tolerance, smoothing);
+    }
+    
+    /**
+     * Counts batches in progress; at most one per listener thread can be, so the limit stays within the listener concurrency
+     */
+    @Bean
+    @ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+    public ConcurrencyLimiter kafkaConcurrencyLimiter(
+            @Value("${los.eligibility.kafka.concurrency:3}") int listenerConcurrency,
+            @Value("${los.eligibility.kafka.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${los.eligibility.kafka.concurrency-limit.min-limit:1}") int minLimit,
+            @Value("${los.eligibility.kafka.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${los.eligibility.kafka.concurrency-limit.smoothing:0.2}") double smoothing) {
+        return new ConcurrencyLimiter("kafka", enabled, listenerConcurrency, Math.min(minLimit, listenerConcurrency),
+                listenerConcurrency, tolerance, smoothing);
+    }
+}
@@ -1,6 +1,8 @@
 package los.eligibility.config;
 
+import los.common.messaging.CustomerBatchResponseMessage;
 import los.common.messaging.CustomerResponseMessage;
+import los.common.messaging.CustomerStateMessage;
 import los.eligibility.service.EligibilityKafkaConsumer.EligibilityRequestMessage;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -17,6 +19,7 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -30,6 +33,15 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:29092}")
     private String bootstrapServers;
     
+    @Value("${los.eligibility.kafka.concurrency:3}")
+    private int eligibilityRequestConcurrency;
+    
+    @Value("${los.eligibility.kafka.max-poll-records:500}")
+    private int eligibilityRequestMaxPollRecords;
+    
+    @Value("${los.eligibility.customer-store.max-poll-records:2000}")
+    private int customerStateMaxPollRecords;
+    
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -67,6 +79,44 @@ public class KafkaConfig {
         return factory;
     }
     
+    // Consumer factory for CustomerBatchResponseMessage (bulk lookups by AsyncCommunicationStrategy)
+    @Bean
+    public ConsumerFactory<String, CustomerBatchResponseMessage> customerBatchResponseConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "eligibility-service-group");
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        
+        JsonDeserializer<CustomerBatchResponseMessage> deserializer = new JsonDeserializer<>(CustomerBatchResponseMessage.class);
+        deserializer.addTrustedPackages("*");
+        deserializer.setUseTypeHeaders(false);
+        
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), deserializer);
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CustomerBatchResponseMessage> customerBatchResponseKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CustomerBatchResponseMessage> factory = 
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(customerBatchResponseConsumerFactory());
+        return factory;
+    }
+    
+    // Consumer factory for CustomerStateMessage (used by CustomerStateListener): assigned partitions, no group
+    @Bean
+    public ConsumerFactory<String, CustomerStateMessage> customerStateConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, customerStateMaxPollRecords);
+        
+        JsonDeserializer<CustomerStateMessage> deserializer = new JsonDeserializer<>(CustomerStateMessage.class);
+        deserializer.addTrustedPackages("*");
+        deserializer.setUseTypeHeaders(false);
+        
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), deserializer);
+    }
+    
     // Consumer factory for EligibilityRequestMessage (used by EligibilityKafkaConsumer)
     @Bean
     public ConsumerFactory<String, EligibilityRequestMessage> eligibilityRequestConsumerFactory() {
@@ -74,6 +124,8 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "eligibility-service-group");
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Upper bound on requests evaluated (and responses awaited) per listener call
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, eligibilityRequestMaxPollRecords);
         
         JsonDeserializer<EligibilityRequestMessage> deserializer = new JsonDeserializer<>(EligibilityRequestMessage.class);
         deserializer.addTrustedPackages("*");
@@ -88,6 +140,13 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, EligibilityRequestMessage> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(eligibilityRequestConsumerFactory());
+        factory.setBatchListener(true);
+        // One listener thread per partition, up to this many; extra threads stay idle
+        factory.setConcurrency(eligibilityRequestConcurrency);
+        // EligibilityKafkaConsumer acks from the completion of a batch's sends, off the listener thread;
+        // the consumer is paused (but keeps polling) until the previous poll is acked
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
         return factory;
     }
 }
@@ -0,0 +1,41 @@
+package los.eligibility.config;
+
+import los.common.dto.CustomerDTO;
+import los.common.messaging.PendingRequestRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registries of customer lookups awaiting a Kafka response (ASYNC mode).
+ * Exposed as MeterBinders, so their gauges show up under /actuator/metrics/los.pending.requests
+ */
+@Configuration
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+public class PendingRequestConfig {
+    
+    @Bean
+    public PendingRequestRegistry<CustomerDTO> customerRequestRegistry(
+            @Value("${los.pending-requests.capacity:100000}") int capacity,
+            @Value("${los.pending-requests.timeout:30s}") Duration timeout,
+            @Value("${los.pending-requests.tick:100ms}") Duration tick,
+            @Value("${los.pending-requests.wheel-size:512}") int wheelSize) {
+        return new PendingRequestRegistry<>("customer-requests", capacity, timeout, tick, wheelSize);
+    }
+    
+    /**
+     * Bulk lookups (customer-batch-request-topic); each entry stands for a whole batch of customers
+     */
+    @Bean
+    public PendingRequestRegistry<List<CustomerDTO>> customerBatchRequestRegistry(
+            @Value("${los.pending-requests.batch-capacity:1000}") int capacity,
+            @Value("${los.pending-requests.timeout:30s}") Duration timeout,
+            @Value("${los.pending-requests.tick:100ms}") Duration tick,
+            @Value("${los.pending-requests.wheel-size:512}") int wheelSize) {
+        return new PendingRequestRegistry<>("customer-batch-requests", capacity, timeout, tick, wheelSize);
+    }
+}
@@ -1,11 +1,29 @@
 package los.eligibility.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import los.common.dto.EligibilityQuoteDTO;
+import los.common.dto.EligibilityQuotePointDTO;
+import los.common.dto.EligibilityQuoteRequestDTO;
+import los.common.dto.EligibilityReasons;
 import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
+import los.eligibility.service.ConcurrencyLimiter;
 import los.eligibility.service.EligibilityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/eligibility")
@@ -13,10 +31,86 @@ import org.springframework.web.bind.annotation.*;
 public class EligibilityController {
     
     private final EligibilityService eligibilityService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    
+    @Value("${los.eligibility.batch.max-size:10000}")
+    private int maxBatchSize;
+    
+    @Value("${los.eligibility.quote.max-points:2500}")
+    private int maxQuotePoints;
     
+    /**
+     * Rejected with 429 and Retry-After while the adaptive concurrency limit is reached
+     */
     @PostMapping("/check")
     public ResponseEntity<EligibilityResponseDTO> checkEligibility(@RequestBody EligibilityRequestDTO request) {
-        EligibilityResponseDTO response = eligibilityService.checkEligibility(request);
-        return ResponseEntity.ok(response);
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfter().toSeconds()))
+                    .build();
+        }
+        
+        boolean success = false;
+        try {
+            EligibilityResponseDTO response = eligibilityService.checkEligibility(request);
+            success = true;
+            return ResponseEntity.ok(withReasonText(response));
+        } finally {
+            permit.release(success);
+        }
+    }
+    
+    /**
+     * Check many requests in one call. Results are streamed as newline-delimited JSON,
+     * one line per request, in request order.
+     */
+    @PostMapping(value = "/check/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> checkEligibilityBatch(@RequestBody List<EligibilityRequestDTO> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                eligibilityService.checkEligibilityBatch(requests, response -> {
+                    try {
+                        writer.write(withReasonText(response));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    
+    /**
+     * Eligibility, rate and max amount for one customer across a grid of amounts and terms,
+     * e.g. to draw an affordability slider without one /check call per position.
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<EligibilityQuoteDTO> quote(@RequestBody EligibilityQuoteRequestDTO request) {
+        List<Integer> terms = request.getTermMonths() != null ? request.getTermMonths() : List.of();
+        if (request.getCustomerId() == null || request.getAmounts() == null || request.getAmounts().isEmpty()
+                || request.getAmounts().stream().anyMatch(amount -> amount == null || amount.signum() <= 0)
+                || terms.stream().anyMatch(term -> term == null || term <= 0)
+                || (long) request.getAmounts().size() * Math.max(terms.size(), 1) > maxQuotePoints) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        EligibilityQuoteDTO quote = eligibilityService.quote(request);
+        // A quote has only a handful of distinct reasons; render each once
+        Map<String, String> rendered = new HashMap<>();
+        for (EligibilityQuotePointDTO point : quote.getPoints()) {
+            point.setReasonText(rendered.computeIfAbsent(point.getReason(), EligibilityReasons::render));
+        }
+        return ResponseEntity.ok(quote);
+    }
+    
+    private static EligibilityResponseDTO withReasonText(EligibilityResponseDTO response) {
+        response.setReasonText(EligibilityReasons.render(response.getReason()));
+        return response;
     }
 }
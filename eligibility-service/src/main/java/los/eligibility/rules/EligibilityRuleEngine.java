@@ -0,0 +1,55 @@
+package los.eligibility.rules;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the active {@link RuleSet}.
+ *
+ * After POST /actuator/refresh rebinds {@link EligibilityRulesProperties}, the new tables are
+ * compiled off to the side and published with a single volatile write. Evaluations that already
+ * hold the previous rule set finish with it; an invalid configuration is logged and ignored.
+ */
+@Component
+@Slf4j
+public class EligibilityRuleEngine {
+    
+    private final EligibilityRulesProperties properties;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile RuleSet current;
+    
+    public EligibilityRuleEngine(EligibilityRulesProperties properties) {
+        this.properties = properties;
+        this.current = RuleSet.compile(properties, versions.incrementAndGet());
+        log.info("Loaded eligibility rule set v{} ({} tiers)", current.version(), properties.getTiers().size());
+    }
+    
+    /**
+     * Rule set to use for one whole evaluation
+     */
+    public RuleSet current() {
+        return current;
+    }
+    
+    /**
+     * Published once refresh has finished rebinding @ConfigurationProperties beans
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        reload();
+    }
+    
+    public synchronized void reload() {
+        try {
+            RuleSet next = RuleSet.compile(properties, versions.incrementAndGet());
+            current = next;
+            log.info("Swapped in eligibility rule set v{}", next.version());
+        } catch (IllegalArgumentException e) {
+            log.error("Rejected eligibility rule set, keeping v{}: {}", current.version(), e.getMessage());
+        }
+    }
+}
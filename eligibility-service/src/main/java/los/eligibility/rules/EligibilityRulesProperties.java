@@ -0,0 +1,51 @@
+package los.eligibility.rules;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eligibility rule tables bound from {@code los.eligibility.rules}.
+ * Re-bound on POST /actuator/refresh; {@link EligibilityRuleEngine} then compiles and swaps them in.
+ */
+@Component
+@ConfigurationProperties(prefix = "los.eligibility.rules")
+@Data
+public class EligibilityRulesProperties {
+    
+    private int minimumScore = 580;
+    private BigDecimal maxLoanAmount = new BigDecimal("500000");
+    private int defaultTermMonths = 60;
+    private List<Tier> tiers = new ArrayList<>();
+    private List<RateTier> interestRates = new ArrayList<>();
+    private List<DtiAdjustment> dtiAdjustments = new ArrayList<>();
+    
+    /**
+     * Limits for civil scores from minScore up to the next tier
+     */
+    @Data
+    public static class Tier {
+        private int minScore;
+        private BigDecimal maxDti;
+        private BigDecimal incomeMultiplier;
+    }
+    
+    @Data
+    public static class RateTier {
+        private int minScore;
+        private BigDecimal baseRate;
+    }
+    
+    /**
+     * Added to the base rate when DTI is above aboveDti; the highest matching threshold applies
+     */
+    @Data
+    public static class DtiAdjustment {
+        private BigDecimal aboveDti;
+        private BigDecimal addRate;
+    }
+}
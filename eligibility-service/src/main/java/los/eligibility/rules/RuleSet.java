@@ -0,0 +1,175 @@
+package los.eligibility.rules;
+
+import los.common.money.Money;
+import los.common.money.Rate;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, compiled form of {@link EligibilityRulesProperties}.
+ *
+ * Every civil score in 300..850 is mapped to its tier up front, and all thresholds and
+ * resulting rates are precomputed as fixed-point {@link Rate}s, so lookups are array reads
+ * and long comparisons with no allocation or branching over the tier list.
+ */
+public final class RuleSet {
+    
+    public static final int MIN_SCORE = 300;
+    public static final int MAX_SCORE = 850;
+    
+    private final long version;
+    private final int minimumScore;
+    private final Money maxLoanAmount;
+    private final int defaultTermMonths;
+    
+    // Indexed by score - MIN_SCORE
+    private final Rate[] maxDtiByScore;
+    private final Rate[] incomeMultiplierByScore;
+    private final int[] rateTierByScore;
+    
+    // Ascending thresholds; ratesByTier[tier][k] is the rate when the k highest-matching adjustment
+    // applies (k = 0 for none)
+    private final Rate[] dtiAdjustmentThresholds;
+    private final Rate[][] ratesByTier;
+    
+    private RuleSet(long version, int minimumScore, Money maxLoanAmount, int defaultTermMonths,
+                    Rate[] maxDtiByScore, Rate[] incomeMultiplierByScore, int[] rateTierByScore,
+                    Rate[] dtiAdjustmentThresholds, Rate[][] ratesByTier) {
+        this.version = version;
+        this.minimumScore = minimumScore;
+        this.maxLoanAmount = maxLoanAmount;
+        this.defaultTermMonths = defaultTermMonths;
+        this.maxDtiByScore = maxDtiByScore;
+        this.incomeMultiplierByScore = incomeMultiplierByScore;
+        this.rateTierByScore = rateTierByScore;
+        this.dtiAdjustmentThresholds = dtiAdjustmentThresholds;
+        this.ratesByTier = ratesByTier;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the tables are empty, out of range or not ascending
+     */
+    public static RuleSet compile(EligibilityRulesProperties properties, long version) {
+        List<EligibilityRulesProperties.Tier> tiers = properties.getTiers();
+        List<EligibilityRulesProperties.RateTier> rateTiers = properties.getInterestRates();
+        if (tiers.isEmpty() || rateTiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one tier and one interest rate tier are required");
+        }
+        if (properties.getMaxLoanAmount() == null || properties.getMaxLoanAmount().signum() <= 0) {
+            throw new IllegalArgumentException("maxLoanAmount must be positive");
+        }
+        
+        int scores = MAX_SCORE - MIN_SCORE + 1;
+        Rate[] maxDti = new Rate[scores];
+        Rate[] multiplier = new Rate[scores];
+        int[] rateTier = new int[scores];
+        
+        int previous = Integer.MIN_VALUE;
+        for (EligibilityRulesProperties.Tier tier : tiers) {
+            checkScore(tier.getMinScore(), previous);
+            if (tier.getMaxDti() == null || tier.getMaxDti().signum() < 0
+                    || tier.getIncomeMultiplier() == null || tier.getIncomeMultiplier().signum() < 0) {
+                throw new IllegalArgumentException("Tier " + tier.getMinScore() + " needs non-negative maxDti and incomeMultiplier");
+            }
+            previous = tier.getMinScore();
+        }
+        previous = Integer.MIN_VALUE;
+        for (EligibilityRulesProperties.RateTier tier : rateTiers) {
+            checkScore(tier.getMinScore(), previous);
+            if (tier.getBaseRate() == null) {
+                throw new IllegalArgumentException("Interest rate tier " + tier.getMinScore() + " needs a baseRate");
+            }
+            previous = tier.getMinScore();
+        }
+        
+        Rate[] maxDtiByTier = new Rate[tiers.size()];
+        Rate[] multiplierByTier = new Rate[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            maxDtiByTier[i] = Rate.of(tiers.get(i).getMaxDti());
+            multiplierByTier[i] = Rate.of(tiers.get(i).getIncomeMultiplier());
+        }
+        
+        // Scores below the lowest tier use the lowest tier; they are rejected by minimumScore anyway
+        int t = 0;
+        int r = 0;
+        for (int score = MIN_SCORE; score <= MAX_SCORE; score++) {
+            while (t + 1 < tiers.size() && score >= tiers.get(t + 1).getMinScore()) {
+                t++;
+            }
+            while (r + 1 < rateTiers.size() && score >= rateTiers.get(r + 1).getMinScore()) {
+                r++;
+            }
+            maxDti[score - MIN_SCORE] = maxDtiByTier[t];
+            multiplier[score - MIN_SCORE] = multiplierByTier[t];
+            rateTier[score - MIN_SCORE] = r;
+        }
+        
+        List<EligibilityRulesProperties.DtiAdjustment> adjustments = properties.getDtiAdjustments().stream()
+                .sorted(Comparator.comparing(EligibilityRulesProperties.DtiAdjustment::getAboveDti))
+                .toList();
+        Rate[] thresholds = new Rate[adjustments.size()];
+        for (int i = 0; i < adjustments.size(); i++) {
+            thresholds[i] = Rate.of(adjustments.get(i).getAboveDti());
+        }
+        Rate[][] rates = new Rate[rateTiers.size()][adjustments.size() + 1];
+        for (int i = 0; i < rateTiers.size(); i++) {
+            Rate base = Rate.of(rateTiers.get(i).getBaseRate());
+            rates[i][0] = base;
+            for (int k = 0; k < adjustments.size(); k++) {
+                rates[i][k + 1] = base.plus(Rate.of(adjustments.get(k).getAddRate()));
+            }
+        }
+        
+        return new RuleSet(version, properties.getMinimumScore(), Money.of(properties.getMaxLoanAmount()),
+                properties.getDefaultTermMonths(), maxDti, multiplier, rateTier, thresholds, rates);
+    }
+    
+    private static void checkScore(int minScore, int previous) {
+        if (minScore < MIN_SCORE || minScore > MAX_SCORE) {
+            throw new IllegalArgumentException("Tier minScore " + minScore + " outside " + MIN_SCORE + ".." + MAX_SCORE);
+        }
+        if (minScore <= previous) {
+            throw new IllegalArgumentException("Tiers must be in ascending minScore order");
+        }
+    }
+    
+    private static int index(int civilScore) {
+        return Math.clamp(civilScore, MIN_SCORE, MAX_SCORE) - MIN_SCORE;
+    }
+    
+    /**
+     * Increases every time a rule set is compiled, so results can be tied to the rules that produced them
+     */
+    public long version() {
+        return version;
+    }
+    
+    public int minimumScore() {
+        return minimumScore;
+    }
+    
+    public Money maxLoanAmount() {
+        return maxLoanAmount;
+    }
+    
+    public int defaultTermMonths() {
+        return defaultTermMonths;
+    }
+    
+    public Rate maxDti(int civilScore) {
+        return maxDtiByScore[index(civilScore)];
+    }
+    
+    public Rate incomeMultiplier(int civilScore) {
+        return incomeMultiplierByScore[index(civilScore)];
+    }
+    
+    public Rate interestRate(int civilScore, Rate debtToIncomeRatio) {
+        int k = dtiAdjustmentThresholds.length;
+        while (k > 0 && debtToIncomeRatio.compareTo(dtiAdjustmentThresholds[k - 1]) <= 0) {
+            k--;
+        }
+        return ratesByTier[rateTierByScore[index(civilScore)]][k];
+    }
+}
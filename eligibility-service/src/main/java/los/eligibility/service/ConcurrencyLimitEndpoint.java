@@ -0,0 +1,29 @@
+package los.eligibility.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/concurrencylimit - current adaptive limit, in-flight work, latency and rejections,
+ * for the REST endpoint and (ASYNC mode) the Kafka listener
+ */
+@Component
+@Endpoint(id = "concurrencylimit")
+@RequiredArgsConstructor
+public class ConcurrencyLimitEndpoint {
+    
+    private final List<ConcurrencyLimiter> concurrencyLimiters;
+    
+    @ReadOperation
+    public Map<String, Object> concurrencyLimit() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        concurrencyLimiters.forEach(limiter -> limits.put(limiter.name(), limiter.snapshot()));
+        return limits;
+    }
+}
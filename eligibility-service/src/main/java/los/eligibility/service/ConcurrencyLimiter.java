@@ -0,0 +1,171 @@
+package los.eligibility.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive limit on eligibility work in progress. The REST endpoint and the Kafka listener each
+ * have their own (see {@code ConcurrencyLimitConfig}): one counts single checks, the other whole
+ * batches, and their latencies are not comparable.
+ *
+ * The limit follows a latency gradient: a short-term average of latency is compared with a
+ * long-term baseline. While they agree the limit grows by about sqrt(limit) per sample; once latency
+ * rises more than {@code tolerance} above the baseline the limit shrinks in proportion, down to half per
+ * sample. Latency is only learned from while the limit is actually in use, so an idle service does not
+ * inflate it. Work over the limit is rejected up front instead of queueing: REST callers get 429,
+ * the Kafka listener starts its batch after {@link #retryAfter()} (its partitions stay paused meanwhile).
+ */
+@Slf4j
+public class ConcurrencyLimiter implements MeterBinder {
+    
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.002;
+    private static final double MIN_GRADIENT = 0.5;
+    
+    private final String name;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    // Guarded by this
+    private double shortRttNanos;
+    private double longRttNanos;
+    
+    /**
+     * @param name used as the metric tag and in /actuator/concurrencylimit
+     */
+    public ConcurrencyLimiter(String name, boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                              double tolerance, double smoothing) {
+        if (minLimit <= 0 || maxLimit < minLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit configuration for " + name);
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+    
+    /**
+     * Take one unit of the limit without waiting
+     *
+     * @return null if the limit is reached
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (enabled && current >= (int) limit) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+    
+    public String name() {
+        return name;
+    }
+    
+    /**
+     * Suggested Retry-After for rejected work: about one unit's latency, at least a second
+     */
+    public Duration retryAfter() {
+        return Duration.ofSeconds(Math.max(1, (long) Math.ceil(shortRttNanos / 1e9)));
+    }
+    
+    public Map<String, Object> snapshot() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", enabled);
+        state.put("limit", (int) limit);
+        state.put("inFlight", inFlight.get());
+        state.put("minLimit", minLimit);
+        state.put("maxLimit", maxLimit);
+        state.put("latencyMillis", Math.round(shortRttNanos / 1e6));
+        state.put("baselineLatencyMillis", Math.round(longRttNanos / 1e6));
+        state.put("rejected", rejected.get());
+        return state;
+    }
+    
+    private synchronized void sample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_SMOOTHING * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_SMOOTHING * (rttNanos - longRttNanos);
+        // After a long overload the baseline sits far above current latency; let it come back down faster
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        // Too little demand to tell whether a higher limit would hurt
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        
+        double gradient = Math.clamp(tolerance * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+        double target = limit * gradient + Math.sqrt(limit);
+        double updated = Math.clamp(limit * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+        if ((int) updated != (int) limit) {
+            log.debug("Concurrency limit {} -> {} (latency {}ms, baseline {}ms)", (int) limit, (int) updated,
+                    Math.round(shortRttNanos / 1e6), Math.round(longRttNanos / 1e6));
+        }
+        limit = updated;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("los.concurrency.limit", this, l -> l.limit)
+                .description("Current adaptive limit on eligibility work in progress")
+                .tag("path", name)
+                .register(registry);
+        Gauge.builder("los.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Eligibility checks (rest) or request batches (kafka) in progress")
+                .tag("path", name)
+                .register(registry);
+        FunctionCounter.builder("los.concurrency.rejected", rejected, AtomicLong::get)
+                .description("Work rejected by the concurrency limit")
+                .tag("path", name)
+                .register(registry);
+    }
+    
+    /**
+     * Held while a unit of work is in progress; release exactly once
+     */
+    public final class Permit {
+        private final int inFlightAtStart;
+        private final long startNanos = System.nanoTime();
+        
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+        
+        /**
+         * @param success false if the work failed; failures are not used as latency samples
+         */
+        public void release(boolean success) {
+            inFlight.decrementAndGet();
+            if (success) {
+                sample(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+    }
+}
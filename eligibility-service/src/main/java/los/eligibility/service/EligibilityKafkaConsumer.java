@@ -1,56 +1,161 @@
 package los.eligibility.service;
 
 import los.common.config.CommunicationMode;
+import los.common.dto.EligibilityReasons;
 import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
-import lombok.RequiredArgsConstructor;
+import los.common.dto.ReasonCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
-@RequiredArgsConstructor
 @Slf4j
 public class EligibilityKafkaConsumer {
     
+    // Attempts per batch, like the container's default FixedBackOff (one try and 9 retries)
+    private static final int MAX_ATTEMPTS = 10;
+    
     private final EligibilityService eligibilityService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    
+    @Value("${los.eligibility.kafka.send-timeout:30s}")
+    private Duration sendTimeout;
+    
+    public EligibilityKafkaConsumer(EligibilityService eligibilityService,
+                                    KafkaTemplate<String, Object> kafkaTemplate,
+                                    @Qualifier("kafkaConcurrencyLimiter") ConcurrencyLimiter concurrencyLimiter) {
+        this.eligibilityService = eligibilityService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+    
+    /**
+     * Handles one poll's worth of requests per partition-assigned listener thread, without blocking it.
+     *
+     * The batch is evaluated in parallel with one customer fetch per distinct customer
+     * (see {@link EligibilityService#checkEligibilityBatchAsync}). Customer lookups, evaluation and the
+     * response sends all complete asynchronously, and the batch is acknowledged from that completion
+     * (async acks). Until then the container pauses the consumer but keeps polling, so a slow lookup
+     * holds back only this consumer's partitions and never the listener thread. Responses are sent in
+     * input order as they are produced, so sends to the same key stay in order.
+     *
+     * Each batch takes one unit of the listener's own {@link ConcurrencyLimiter}, which counts batches
+     * and learns from batch latency, separately from the REST endpoint. While the limit is reached the
+     * batch is started after {@link ConcurrencyLimiter#retryAfter()} on a timer. A batch whose responses
+     * could not all be sent within {@code send-timeout} is processed again the same way, up to
+     * {@link #MAX_ATTEMPTS} times like the container's default error handling, then acknowledged.
+     */
+    @KafkaListener(topics = "eligibility-request-topic", groupId = "eligibility-service-group", batch = "true")
+    public void handleEligibilityRequests(List<EligibilityRequestMessage> messages, Acknowledgment acknowledgment) {
+        log.info("Received batch of {} eligibility requests", messages.size());
+        admit(messages, acknowledgment, 1);
+    }
+    
+    private void admit(List<EligibilityRequestMessage> messages, Acknowledgment acknowledgment, int attempt) {
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            Duration backoff = concurrencyLimiter.retryAfter();
+            log.info("Concurrency limit reached, starting batch of {} eligibility requests in {}", messages.size(), backoff);
+            retryLater(messages, acknowledgment, attempt, backoff);
+            return;
+        }
+        
+        processBatch(messages).whenComplete((ignored, ex) -> {
+            permit.release(ex == null);
+            if (ex == null) {
+                acknowledgment.acknowledge();
+            } else if (attempt >= MAX_ATTEMPTS) {
+                log.error("Giving up on batch of {} eligibility requests after {} attempts: {}",
+                        messages.size(), attempt, ex.getMessage(), ex);
+                acknowledgment.acknowledge();
+            } else {
+                Duration backoff = concurrencyLimiter.retryAfter();
+                log.warn("Failed to send eligibility responses, processing batch of {} again in {}: {}",
+                        messages.size(), backoff, ex.getMessage());
+                retryLater(messages, acknowledgment, attempt + 1, backoff);
+            }
+        });
+    }
     
-    @KafkaListener(topics = "eligibility-request-topic", groupId = "eligibility-service-group")
-    public void handleEligibilityRequest(EligibilityRequestMessage message) {
-        log.info("Received eligibility request via Kafka: correlationId={}, applicationId={}", 
-                message.getCorrelationId(), message.getApplicationId());
+    private void retryLater(List<EligibilityRequestMessage> messages, Acknowledgment acknowledgment, int attempt, Duration backoff) {
+        CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> admit(messages, acknowledgment, attempt));
+    }
+    
+    /**
+     * @return a stage completing once every response of the batch has been acknowledged by Kafka
+     */
+    private CompletableFuture<Void> processBatch(List<EligibilityRequestMessage> messages) {
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(messages.size());
+        List<EligibilityRequestMessage> valid = new ArrayList<>(messages.size());
+        for (EligibilityRequestMessage message : messages) {
+            if (message.getRequest() != null) {
+                valid.add(message);
+            } else {
+                log.warn("Eligibility request {} has no payload", message.getCorrelationId());
+                sends.add(sendResponse(message, createErrorResponse(message)));
+            }
+        }
         
+        int[] next = {0};
+        CompletableFuture<Void> evaluated;
         try {
-            EligibilityResponseDTO response = eligibilityService.checkEligibility(message.getRequest());
-            
-            // Send response back via Kafka
-            EligibilityResponseMessage responseMessage = new EligibilityResponseMessage();
-            responseMessage.setCorrelationId(message.getCorrelationId());
-            responseMessage.setApplicationId(message.getApplicationId());
-            responseMessage.setResponse(response);
-            
-            kafkaTemplate.send("eligibility-response-topic", message.getCorrelationId(), responseMessage);
-            log.info("Sent eligibility response via Kafka: correlationId={}", message.getCorrelationId());
-        } catch (Exception e) {
-            log.error("Error processing eligibility request: {}", e.getMessage(), e);
-            // Send error response
-            EligibilityResponseDTO errorResponse = new EligibilityResponseDTO();
-            errorResponse.setCustomerId(message.getRequest().getCustomerId());
-            errorResponse.setEligible(false);
-            errorResponse.setReason("Error processing eligibility: " + e.getMessage());
-            
-            EligibilityResponseMessage responseMessage = new EligibilityResponseMessage();
-            responseMessage.setCorrelationId(message.getCorrelationId());
-            responseMessage.setApplicationId(message.getApplicationId());
-            responseMessage.setResponse(errorResponse);
-            
-            kafkaTemplate.send("eligibility-response-topic", message.getCorrelationId(), responseMessage);
+            evaluated = eligibilityService.checkEligibilityBatchAsync(
+                    valid.stream().map(EligibilityRequestMessage::getRequest).toList(),
+                    response -> sends.add(sendResponse(valid.get(next[0]++), response)));
+        } catch (RuntimeException e) {
+            evaluated = CompletableFuture.failedFuture(e);
         }
+        
+        return evaluated
+                .handle((ignored, ex) -> {
+                    if (ex != null) {
+                        log.error("Error processing eligibility batch: {}", ex.getMessage(), ex);
+                        for (int i = next[0]; i < valid.size(); i++) {
+                            sends.add(sendResponse(valid.get(i), createErrorResponse(valid.get(i))));
+                        }
+                    }
+                    return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+                })
+                .thenCompose(allSent -> allSent)
+                .orTimeout(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenRun(() -> log.info("Sent {} eligibility responses via Kafka", sends.size()));
+    }
+    
+    private CompletableFuture<SendResult<String, Object>> sendResponse(EligibilityRequestMessage message, EligibilityResponseDTO response) {
+        EligibilityResponseMessage responseMessage = new EligibilityResponseMessage();
+        responseMessage.setCorrelationId(message.getCorrelationId());
+        responseMessage.setApplicationId(message.getApplicationId());
+        responseMessage.setResponse(response);
+        
+        try {
+            return kafkaTemplate.send("eligibility-response-topic", message.getCorrelationId(), responseMessage);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private EligibilityResponseDTO createErrorResponse(EligibilityRequestMessage message) {
+        EligibilityResponseDTO errorResponse = new EligibilityResponseDTO();
+        errorResponse.setCustomerId(message.getRequest() != null ? message.getRequest().getCustomerId() : null);
+        errorResponse.setEligible(false);
+        errorResponse.setReason(EligibilityReasons.of(ReasonCode.PROCESSING_ERROR));
+        return errorResponse;
     }
     
     // Inner classes for Kafka messages
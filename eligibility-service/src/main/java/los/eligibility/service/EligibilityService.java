@@ -3,15 +3,35 @@ package los.eligibility.service;
 import los.common.communication.CommunicationStrategy;
 import los.common.config.CommunicationMode;
 import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityQuoteDTO;
+import los.common.dto.EligibilityQuotePointDTO;
+import los.common.dto.EligibilityQuoteRequestDTO;
+import los.common.dto.EligibilityReasons;
 import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
+import los.common.dto.ReasonCode;
+import los.common.money.Money;
+import los.common.money.Rate;
+import los.eligibility.cache.CustomerVersions;
+import los.eligibility.cache.DecisionMemo;
+import los.eligibility.rules.EligibilityRuleEngine;
+import los.eligibility.rules.RuleSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,80 +39,147 @@ import java.math.RoundingMode;
 public class EligibilityService {
     
     private final CommunicationStrategy communicationStrategy;
+    private final EligibilityRuleEngine ruleEngine;
+    private final DecisionMemo decisionMemo;
+    private final CustomerVersions customerVersions;
+    
+    private static final Rate WORST_CASE_DTI = Rate.ONE;
+    private static final int DTI_DECIMALS = 2;
+    
+    // Results are streamed after each chunk, so the first ones go out before the whole batch is evaluated
+    private static final int BATCH_CHUNK_SIZE = 256;
     
     @Value("${los.communication.mode:SYNC}")
     private CommunicationMode communicationMode;
     
-    // Civil Score thresholds
-    private static final int MINIMUM_CIVIL_SCORE = 580;  // Below this = automatic rejection
-    private static final int GOOD_CIVIL_SCORE = 670;     // Good credit
-    private static final int EXCELLENT_CIVIL_SCORE = 740; // Excellent credit
-    
     public EligibilityResponseDTO checkEligibility(EligibilityRequestDTO request) {
         log.info("Checking eligibility for customer ID: {}", request.getCustomerId());
         
+        // One rule set for the whole evaluation, even if a new one is swapped in meanwhile
+        RuleSet rules = ruleEngine.current();
+        DecisionMemo.Key key = decisionMemo.key(request, rules.version());
+        EligibilityResponseDTO memoized = decisionMemo.get(key);
+        if (memoized != null) {
+            log.info("Eligibility for customer {} served from decision memo", request.getCustomerId());
+            return memoized;
+        }
+        
         // Get customer details (now includes civil score)
+        long stamp = customerVersions.stamp(request.getCustomerId());
         CustomerDTO customer = communicationStrategy.getCustomerById(request.getCustomerId());
         
-        if (customer == null) {
-            return createEligibilityResponse(request.getCustomerId(), false, 
-                BigDecimal.ZERO, "Customer not found", null, null);
-        }
+        return decide(request, key, customer, stamp, rules);
+    }
+    
+    /**
+     * Evaluate many requests with one customer fetch per distinct customer.
+     * Requests answered by the decision memo need no fetch at all. The rest are evaluated
+     * in parallel, chunk by chunk, and everything is handed to {@code sink} in input order.
+     */
+    public void checkEligibilityBatch(List<EligibilityRequestDTO> requests, Consumer<EligibilityResponseDTO> sink) {
+        BatchPlan plan = planBatch(requests);
+        Map<Long, CustomerDTO> customers = plan.customerIds().isEmpty()
+                ? Collections.emptyMap()
+                : communicationStrategy.getCustomersByIds(plan.customerIds());
+        evaluateBatch(plan, customers, sink);
+    }
+    
+    /**
+     * {@link #checkEligibilityBatch} without blocking the caller: the customers are looked up with
+     * {@link CommunicationStrategy#getCustomersByIdsAsync}, and evaluation and {@code sink} run in the
+     * common pool once they have arrived. The returned stage completes after the last response
+     * was handed to {@code sink}.
+     */
+    public CompletableFuture<Void> checkEligibilityBatchAsync(List<EligibilityRequestDTO> requests,
+                                                              Consumer<EligibilityResponseDTO> sink) {
+        BatchPlan plan = planBatch(requests);
+        CompletionStage<Map<Long, CustomerDTO>> customers = plan.customerIds().isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptyMap())
+                : communicationStrategy.getCustomersByIdsAsync(plan.customerIds());
+        return customers.toCompletableFuture().thenAcceptAsync(fetched -> evaluateBatch(plan, fetched, sink));
+    }
+    
+    private BatchPlan planBatch(List<EligibilityRequestDTO> requests) {
+        log.info("Checking eligibility for batch of {} requests", requests.size());
         
-        // Check civil score first - this is a hard requirement
-        Integer civilScore = customer.getCivilScore();
-        if (civilScore == null || civilScore == 0) {
-            log.warn("Customer {} has no civil score available", request.getCustomerId());
-            return createEligibilityResponse(request.getCustomerId(), false, 
-                BigDecimal.ZERO, "Civil/Credit score not available. Please generate a civil score first.", null, null);
+        RuleSet rules = ruleEngine.current();
+        int n = requests.size();
+        DecisionMemo.Key[] keys = new DecisionMemo.Key[n];
+        EligibilityResponseDTO[] memoized = new EligibilityResponseDTO[n];
+        long[] stamps = new long[n];
+        Set<Long> customerIds = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) {
+            EligibilityRequestDTO request = requests.get(i);
+            keys[i] = decisionMemo.key(request, rules.version());
+            memoized[i] = decisionMemo.get(keys[i]);
+            if (memoized[i] == null && request.getCustomerId() != null) {
+                stamps[i] = customerVersions.stamp(request.getCustomerId());
+                customerIds.add(request.getCustomerId());
+            }
         }
+        return new BatchPlan(requests, rules, keys, memoized, stamps, customerIds);
+    }
+    
+    private void evaluateBatch(BatchPlan plan, Map<Long, CustomerDTO> customers, Consumer<EligibilityResponseDTO> sink) {
+        List<EligibilityRequestDTO> requests = plan.requests();
+        int n = requests.size();
+        log.info("Fetched {} distinct customers for batch of {} requests", customers.size(), n);
         
-        log.info("Customer {} civil score: {} ({})", request.getCustomerId(), civilScore, customer.getCivilScoreCategory());
-        
-        // Automatic rejection if civil score is below minimum threshold
-        if (civilScore < MINIMUM_CIVIL_SCORE) {
-            log.info("Customer {} rejected due to low civil score: {} (minimum required: {})", 
-                    request.getCustomerId(), civilScore, MINIMUM_CIVIL_SCORE);
-            return createEligibilityResponse(request.getCustomerId(), false, 
-                BigDecimal.ZERO, 
-                String.format("Civil/Credit score too low (%d). Minimum required: %d. Category: %s", 
-                    civilScore, MINIMUM_CIVIL_SCORE, customer.getCivilScoreCategory()), 
-                null, null);
+        for (int from = 0; from < n; from += BATCH_CHUNK_SIZE) {
+            IntStream.range(from, Math.min(from + BATCH_CHUNK_SIZE, n)).parallel()
+                    .mapToObj(i -> plan.memoized()[i] != null ? plan.memoized()[i]
+                            : decide(requests.get(i), plan.keys()[i], customers.get(requests.get(i).getCustomerId()),
+                                    plan.stamps()[i], plan.rules()))
+                    .toList()
+                    .forEach(sink);
         }
+    }
+    
+    private EligibilityResponseDTO decide(EligibilityRequestDTO request, DecisionMemo.Key key,
+                                          CustomerDTO customer, long stamp, RuleSet rules) {
+        return decisionMemo.remember(key, customer, stamp, evaluateEligibility(request, customer, rules));
+    }
+    
+    private EligibilityResponseDTO evaluateEligibility(EligibilityRequestDTO request, CustomerDTO customer, RuleSet rules) {
+        String rejection = screenCustomer(request.getCustomerId(), customer, rules);
+        if (rejection != null) {
+            return createEligibilityResponse(request.getCustomerId(), false, Money.ZERO, rejection, null, null);
+        }
+        int civilScore = customer.getCivilScore();
         
         // Business logic for eligibility check
-        BigDecimal debtToIncomeRatio = calculateDebtToIncomeRatio(
+        Rate debtToIncomeRatio = calculateDebtToIncomeRatio(
             request.getMonthlyIncome(), 
             request.getMonthlyExpenses()
         );
         
         // Adjust DTI threshold based on civil score
-        BigDecimal maxDTI = getMaxDTIForCivilScore(civilScore);
+        Rate maxDTI = rules.maxDti(civilScore);
         
         // Eligibility criteria (now considers civil score)
         boolean eligible = debtToIncomeRatio.compareTo(maxDTI) <= 0 &&
-                          request.getRequestedLoanAmount().compareTo(new BigDecimal("500000")) <= 0;
+                          request.getRequestedLoanAmount().compareTo(rules.maxLoanAmount()) <= 0;
         
-        BigDecimal eligibleAmount = BigDecimal.ZERO;
-        BigDecimal interestRate = null;
+        Money eligibleAmount = Money.ZERO;
+        Rate interestRate = null;
         Integer recommendedTerm = null;
         
         if (eligible) {
             // Calculate eligible amount based on income and civil score
-            BigDecimal incomeMultiplier = getIncomeMultiplierForCivilScore(civilScore);
             eligibleAmount = request.getMonthlyIncome()
-                .multiply(incomeMultiplier)
+                .times(rules.incomeMultiplier(civilScore))
                 .min(request.getRequestedLoanAmount());
             
             // Calculate interest rate based on civil score (better score = lower rate)
-            interestRate = getInterestRateForCivilScore(civilScore, debtToIncomeRatio);
+            interestRate = rules.interestRate(civilScore, debtToIncomeRatio);
             
             recommendedTerm = request.getLoanTermMonths() != null ? 
-                request.getLoanTermMonths() : 60;
+                request.getLoanTermMonths() : rules.defaultTermMonths();
         }
         
         String reason = buildEligibilityReason(eligible, civilScore, customer.getCivilScoreCategory(), 
-                debtToIncomeRatio, maxDTI, request.getRequestedLoanAmount());
+                debtToIncomeRatio, maxDTI, request.getRequestedLoanAmount().compareTo(rules.maxLoanAmount()) > 0,
+                rules.maxLoanAmount());
         
         EligibilityResponseDTO response = createEligibilityResponse(
             request.getCustomerId(),
@@ -103,101 +190,164 @@ public class EligibilityService {
             recommendedTerm
         );
         
-        log.info("Eligibility check completed. Eligible: {}, Civil Score: {}, Interest Rate: {}", 
-                eligible, civilScore, interestRate);
+        log.info("Eligibility check completed. Eligible: {}, Civil Score: {}, Interest Rate: {} (rules v{})", 
+                eligible, civilScore, interestRate, rules.version());
         return response;
     }
     
     /**
-     * Get maximum debt-to-income ratio allowed based on civil score
-     * Higher civil score = more lenient DTI threshold
+     * Quote every amount x term combination for one customer and income profile.
+     *
+     * The customer is fetched once, and everything that does not depend on the amount (DTI,
+     * tier limits, interest rate, reasons) is computed once. Only the amount-dependent
+     * limit check runs per point, as a loop over long cents. Term does not affect the decision,
+     * so each amount's result is repeated across the terms.
      */
-    private BigDecimal getMaxDTIForCivilScore(int civilScore) {
-        if (civilScore >= EXCELLENT_CIVIL_SCORE) {
-            return new BigDecimal("0.50"); // 50% DTI for excellent credit
-        } else if (civilScore >= GOOD_CIVIL_SCORE) {
-            return new BigDecimal("0.45"); // 45% DTI for good credit
-        } else {
-            return new BigDecimal("0.40"); // 40% DTI for fair credit
+    public EligibilityQuoteDTO quote(EligibilityQuoteRequestDTO request) {
+        log.info("Quoting {} amounts x {} terms for customer ID: {}", request.getAmounts().size(),
+                request.getTermMonths() != null ? request.getTermMonths().size() : 0, request.getCustomerId());
+        
+        CustomerDTO customer = communicationStrategy.getCustomerById(request.getCustomerId());
+        RuleSet rules = ruleEngine.current();
+        
+        List<Integer> terms = request.getTermMonths() == null || request.getTermMonths().isEmpty()
+                ? List.of(rules.defaultTermMonths())
+                : request.getTermMonths();
+        int n = request.getAmounts().size();
+        long[] requestedCents = new long[n];
+        for (int i = 0; i < n; i++) {
+            requestedCents[i] = request.getAmounts().get(i).cents();
         }
+        
+        EligibilityQuoteDTO quote = new EligibilityQuoteDTO();
+        quote.setCustomerId(request.getCustomerId());
+        quote.setRulesVersion(rules.version());
+        quote.setMaxEligibleAmount(Money.ZERO);
+        
+        String rejection = screenCustomer(request.getCustomerId(), customer, rules);
+        if (rejection != null) {
+            if (customer != null) {
+                quote.setCivilScore(customer.getCivilScore());
+                quote.setCivilScoreCategory(customer.getCivilScoreCategory());
+            }
+            String[] reasons = new String[n];
+            Arrays.fill(reasons, rejection);
+            quote.setPoints(quotePoints(request.getAmounts(), terms, new boolean[n], new long[n], null, reasons));
+            return quote;
+        }
+        
+        int civilScore = customer.getCivilScore();
+        Rate debtToIncomeRatio = calculateDebtToIncomeRatio(request.getMonthlyIncome(), request.getMonthlyExpenses());
+        Rate maxDTI = rules.maxDti(civilScore);
+        boolean dtiOk = debtToIncomeRatio.compareTo(maxDTI) <= 0;
+        long maxLoanCents = rules.maxLoanAmount().cents();
+        long incomeCapCents = dtiOk ? request.getMonthlyIncome().times(rules.incomeMultiplier(civilScore)).cents() : 0;
+        
+        String category = customer.getCivilScoreCategory();
+        String approved = buildEligibilityReason(true, civilScore, category, debtToIncomeRatio, maxDTI, false, rules.maxLoanAmount());
+        String rejectedWithinLimit = buildEligibilityReason(false, civilScore, category, debtToIncomeRatio, maxDTI, false, rules.maxLoanAmount());
+        String rejectedOverLimit = buildEligibilityReason(false, civilScore, category, debtToIncomeRatio, maxDTI, true, rules.maxLoanAmount());
+        
+        boolean[] eligible = new boolean[n];
+        long[] eligibleCents = new long[n];
+        String[] reasons = new String[n];
+        long maxEligibleCents = 0;
+        for (int i = 0; i < n; i++) {
+            boolean withinLimit = requestedCents[i] <= maxLoanCents;
+            boolean ok = dtiOk & withinLimit;
+            eligible[i] = ok;
+            eligibleCents[i] = ok ? Math.min(incomeCapCents, requestedCents[i]) : 0;
+            reasons[i] = ok ? approved : withinLimit ? rejectedWithinLimit : rejectedOverLimit;
+            maxEligibleCents = Math.max(maxEligibleCents, eligibleCents[i]);
+        }
+        
+        Rate interestRate = dtiOk ? rules.interestRate(civilScore, debtToIncomeRatio) : null;
+        
+        quote.setCivilScore(civilScore);
+        quote.setCivilScoreCategory(category);
+        quote.setDebtToIncomeRatio(debtToIncomeRatio);
+        quote.setMaxDebtToIncomeRatio(maxDTI);
+        quote.setMaxEligibleAmount(Money.ofCents(maxEligibleCents));
+        quote.setPoints(quotePoints(request.getAmounts(), terms, eligible, eligibleCents, interestRate, reasons));
+        
+        log.info("Quote completed for customer {}: DTI {} (max {}), max eligible amount {} (rules v{})",
+                request.getCustomerId(), debtToIncomeRatio, maxDTI, quote.getMaxEligibleAmount(), rules.version());
+        return quote;
     }
     
-    /**
-     * Get income multiplier for eligible amount calculation based on civil score
-     * Higher civil score = higher loan amount eligibility
-     */
-    private BigDecimal getIncomeMultiplierForCivilScore(int civilScore) {
-        if (civilScore >= EXCELLENT_CIVIL_SCORE) {
-            return new BigDecimal("48"); // 4 years of income for excellent credit
-        } else if (civilScore >= GOOD_CIVIL_SCORE) {
-            return new BigDecimal("36"); // 3 years of income for good credit
-        } else {
-            return new BigDecimal("24"); // 2 years of income for fair credit
+    private List<EligibilityQuotePointDTO> quotePoints(List<Money> amounts, List<Integer> terms,
+            boolean[] eligible, long[] eligibleCents, Rate interestRate, String[] reasons) {
+        List<EligibilityQuotePointDTO> points = new ArrayList<>(amounts.size() * terms.size());
+        for (int i = 0; i < amounts.size(); i++) {
+            Money amount = amounts.get(i);
+            Money eligibleAmount = Money.ofCents(eligibleCents[i]);
+            for (Integer term : terms) {
+                points.add(new EligibilityQuotePointDTO(amount, term, eligible[i], eligibleAmount,
+                        eligible[i] ? interestRate : null, reasons[i], null));
+            }
         }
+        return points;
     }
     
     /**
-     * Calculate interest rate based on civil score and DTI ratio
-     * Better civil score = lower interest rate
+     * @return the rejection reason, or null if the customer can go on to the DTI and amount checks
      */
-    private BigDecimal getInterestRateForCivilScore(int civilScore, BigDecimal debtToIncomeRatio) {
-        BigDecimal baseRate;
-        
-        // Base rate based on civil score
-        if (civilScore >= 800) {           // Excellent (800-850)
-            baseRate = new BigDecimal("4.5");
-        } else if (civilScore >= 740) {    // Very Good (740-799)
-            baseRate = new BigDecimal("5.0");
-        } else if (civilScore >= 670) {    // Good (670-739)
-            baseRate = new BigDecimal("6.0");
-        } else if (civilScore >= 580) {    // Fair (580-669)
-            baseRate = new BigDecimal("7.5");
-        } else {
-            baseRate = new BigDecimal("9.0"); // Should not reach here due to minimum check
-        }
-        
-        // Add adjustment based on DTI ratio
-        BigDecimal dtiAdjustment = BigDecimal.ZERO;
-        if (debtToIncomeRatio.compareTo(new BigDecimal("0.35")) > 0) {
-            dtiAdjustment = new BigDecimal("0.5");
-        } else if (debtToIncomeRatio.compareTo(new BigDecimal("0.40")) > 0) {
-            dtiAdjustment = new BigDecimal("1.0");
-        }
-        
-        return baseRate.add(dtiAdjustment);
+    private String screenCustomer(Long customerId, CustomerDTO customer, RuleSet rules) {
+        if (customer == null) {
+            return EligibilityReasons.of(ReasonCode.CUSTOMER_NOT_FOUND);
+        }
+        
+        // Check civil score first - this is a hard requirement
+        Integer civilScore = customer.getCivilScore();
+        if (civilScore == null || civilScore == 0) {
+            log.warn("Customer {} has no civil score available", customerId);
+            return EligibilityReasons.of(ReasonCode.SCORE_UNAVAILABLE);
+        }
+        
+        log.info("Customer {} civil score: {} ({})", customerId, civilScore, customer.getCivilScoreCategory());
+        
+        // Automatic rejection if civil score is below minimum threshold
+        if (civilScore < rules.minimumScore()) {
+            log.info("Customer {} rejected due to low civil score: {} (minimum required: {})", 
+                    customerId, civilScore, rules.minimumScore());
+            return EligibilityReasons.builder().code(ReasonCode.SCORE_TOO_LOW)
+                    .param("score", civilScore).param("min", rules.minimumScore())
+                    .param("category", customer.getCivilScoreCategory()).build();
+        }
+        return null;
     }
     
     private String buildEligibilityReason(boolean eligible, int civilScore, String scoreCategory, 
-            BigDecimal dti, BigDecimal maxDTI, BigDecimal requestedAmount) {
+            Rate dti, Rate maxDTI, boolean amountExceeded, Money maxLoanAmount) {
+        EligibilityReasons.Builder reason = EligibilityReasons.builder();
         if (eligible) {
-            return String.format("Customer approved. Civil Score: %d (%s), DTI: %.2f%% (max allowed: %.2f%%)", 
-                    civilScore, scoreCategory, dti.multiply(new BigDecimal("100")), maxDTI.multiply(new BigDecimal("100")));
-        } else {
-            StringBuilder reason = new StringBuilder("Not eligible: ");
-            if (dti.compareTo(maxDTI) > 0) {
-                reason.append(String.format("DTI ratio %.2f%% exceeds maximum %.2f%% for civil score %d. ", 
-                        dti.multiply(new BigDecimal("100")), maxDTI.multiply(new BigDecimal("100")), civilScore));
-            }
-            if (requestedAmount.compareTo(new BigDecimal("500000")) > 0) {
-                reason.append("Requested amount exceeds maximum limit of $500,000. ");
-            }
-            return reason.toString().trim();
+            return reason.code(ReasonCode.APPROVED)
+                    .param("score", civilScore).param("category", scoreCategory)
+                    .param("dti", dti).param("max", maxDTI)
+                    .build();
+        }
+        if (dti.compareTo(maxDTI) > 0) {
+            reason.code(ReasonCode.DTI_EXCEEDED).param("dti", dti).param("max", maxDTI).param("score", civilScore);
+        }
+        if (amountExceeded) {
+            reason.code(ReasonCode.AMOUNT_EXCEEDED).param("max", maxLoanAmount);
         }
+        return reason.build();
     }
     
-    private BigDecimal calculateDebtToIncomeRatio(BigDecimal monthlyIncome, BigDecimal monthlyExpenses) {
-        if (monthlyIncome == null || monthlyIncome.compareTo(BigDecimal.ZERO) <= 0) {
-            return new BigDecimal("1.0"); // Worst case
+    private Rate calculateDebtToIncomeRatio(Money monthlyIncome, Money monthlyExpenses) {
+        if (monthlyIncome == null || monthlyIncome.signum() <= 0) {
+            return WORST_CASE_DTI;
         }
         if (monthlyExpenses == null) {
-            monthlyExpenses = BigDecimal.ZERO;
+            monthlyExpenses = Money.ZERO;
         }
-        return monthlyExpenses.divide(monthlyIncome, 2, RoundingMode.HALF_UP);
+        return Rate.ratio(monthlyExpenses, monthlyIncome, DTI_DECIMALS);
     }
     
     private EligibilityResponseDTO createEligibilityResponse(
-            Long customerId, Boolean eligible, BigDecimal eligibleAmount, 
-            String reason, BigDecimal interestRate, Integer recommendedTerm) {
+            Long customerId, Boolean eligible, Money eligibleAmount, 
+            String reason, Rate interestRate, Integer recommendedTerm) {
         EligibilityResponseDTO response = new EligibilityResponseDTO();
         response.setCustomerId(customerId);
         response.setEligible(eligible);
@@ -207,4 +357,12 @@ public class EligibilityService {
         response.setRecommendedTermMonths(recommendedTerm);
         return response;
     }
+    
+    /**
+     * What a batch needs before its customers are fetched: one rule set, memo keys and hits,
+     * customer version stamps, and the customers to fetch
+     */
+    private record BatchPlan(List<EligibilityRequestDTO> requests, RuleSet rules, DecisionMemo.Key[] keys,
+                             EligibilityResponseDTO[] memoized, long[] stamps, Set<Long> customerIds) {
+    }
 }
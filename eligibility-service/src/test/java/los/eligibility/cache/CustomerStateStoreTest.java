@@ -0,0 +1,103 @@
+package los.eligibility.cache;
+
+import los.common.dto.CustomerDTO;
+import los.common.messaging.CustomerStateMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CustomerStateStoreTest {
+    
+    private final CustomerStateStore store = new CustomerStateStore(true, 16, 1000, "");
+    
+    @Test
+    void packedStateRoundTrips() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.SECONDS);
+        apply(1L, state(1L, 850, "EXCELLENT", expiresAt));
+        apply(2L, state(2L, 0xFFFF, "POOR", expiresAt.plusYears(50)));
+        apply(3L, state(3L, 1, null, expiresAt));
+        
+        assertCustomer(1L, 850, "EXCELLENT", expiresAt);
+        assertCustomer(2L, 0xFFFF, "POOR", expiresAt.plusYears(50));
+        assertCustomer(3L, 1, null, expiresAt);
+        assertEquals(3, store.size());
+    }
+    
+    @Test
+    void categoriesAreInternedPerName() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Map<Long, CustomerStateMessage> states = new HashMap<>();
+        String[] categories = {"POOR", "FAIR", "GOOD", "VERY_GOOD", "EXCELLENT"};
+        for (long id = 1; id <= 50; id++) {
+            states.put(id, state(id, 300 + (int) id, categories[(int) (id % categories.length)], expiresAt));
+        }
+        store.apply(states);
+        
+        for (long id = 1; id <= 50; id++) {
+            assertCustomer(id, 300 + (int) id, categories[(int) (id % categories.length)], expiresAt);
+        }
+    }
+    
+    @Test
+    void missingExpiryKeepsTheKnownOneOnlyForAnUnchangedScore() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        apply(1L, state(1L, 700, "GOOD", expiresAt));
+        apply(2L, state(2L, 700, "GOOD", expiresAt));
+        
+        apply(1L, state(1L, 700, "GOOD", null));
+        apply(2L, state(2L, 710, "GOOD", null));
+        
+        assertCustomer(1L, 700, "GOOD", expiresAt);
+        assertNull(store.get(2L));
+    }
+    
+    @Test
+    void invalidScoresAndTombstonesRemoveTheCustomer() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        for (long id = 1; id <= 4; id++) {
+            apply(id, state(id, 700, "GOOD", expiresAt));
+        }
+        
+        apply(1L, state(1L, null, null, null));
+        apply(2L, state(2L, 0, "GOOD", expiresAt));
+        apply(3L, state(3L, 0x10000, "GOOD", expiresAt));
+        apply(4L, null);
+        
+        for (long id = 1; id <= 4; id++) {
+            assertNull(store.get(id));
+        }
+        assertEquals(0, store.size());
+    }
+    
+    @Test
+    void expiredScoresReadAsMisses() {
+        apply(1L, state(1L, 700, "GOOD", LocalDateTime.now().minusSeconds(1)));
+        assertNull(store.get(1L));
+        assertNull(store.get(2L));
+        assertNull(store.get(null));
+    }
+    
+    private void apply(Long id, CustomerStateMessage state) {
+        Map<Long, CustomerStateMessage> states = new HashMap<>();
+        states.put(id, state);
+        store.apply(states);
+    }
+    
+    private void assertCustomer(Long id, int score, String category, LocalDateTime expiresAt) {
+        CustomerDTO customer = store.get(id);
+        assertEquals(id, customer.getId());
+        assertEquals(Integer.valueOf(score), customer.getCivilScore());
+        assertEquals(category, customer.getCivilScoreCategory());
+        assertEquals(expiresAt, customer.getCivilScoreExpiresAt());
+    }
+    
+    private static CustomerStateMessage state(Long id, Integer score, String category, LocalDateTime expiresAt) {
+        return new CustomerStateMessage(id, score, category, expiresAt);
+    }
+}
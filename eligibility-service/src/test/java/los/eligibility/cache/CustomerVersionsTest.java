@@ -0,0 +1,134 @@
+package los.eligibility.cache;
+
+import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityRequestDTO;
+import los.common.dto.EligibilityResponseDTO;
+import los.common.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Copies read before a customer-state-topic update must not be cached or memoized after its eviction
+ */
+class CustomerVersionsTest {
+    
+    private static final long CUSTOMER_ID = 42;
+    
+    private final CustomerVersions versions = new CustomerVersions();
+    private final CustomerCache customerCache = new CustomerCache(versions, true, 1000, Duration.ofHours(1));
+    private final DecisionMemo decisionMemo = new DecisionMemo(versions, true, 1000, Duration.ofMinutes(10));
+    
+    @Test
+    void stampIsUnchangedWithoutUpdates() {
+        long stamp = versions.stamp(CUSTOMER_ID);
+        assertFalse(versions.changedSince(CUSTOMER_ID, stamp));
+        
+        versions.beginUpdate(List.of(CUSTOMER_ID));
+        assertTrue(versions.changedSince(CUSTOMER_ID, stamp));
+        assertTrue(versions.changedSince(CUSTOMER_ID, versions.stamp(CUSTOMER_ID)));
+        versions.endUpdate(List.of(CUSTOMER_ID));
+        
+        assertFalse(versions.changedSince(CUSTOMER_ID, versions.stamp(CUSTOMER_ID)));
+    }
+    
+    @Test
+    void duplicateIdsAdvanceOnce() {
+        long stamp = versions.stamp(CUSTOMER_ID);
+        versions.beginUpdate(List.of(CUSTOMER_ID, CUSTOMER_ID));
+        assertEquals(stamp + 1, versions.stamp(CUSTOMER_ID));
+        versions.endUpdate(List.of(CUSTOMER_ID, CUSTOMER_ID));
+        assertEquals(stamp + 2, versions.stamp(CUSTOMER_ID));
+    }
+    
+    @Test
+    void writesAfterAnUpdateAreDropped() {
+        long stamp = versions.stamp(CUSTOMER_ID);
+        CustomerDTO before = customer(700);
+        EligibilityRequestDTO request = request();
+        DecisionMemo.Key key = decisionMemo.key(request, 1);
+        
+        // The listener applies an update and evicts while the check still holds the old copy
+        update();
+        
+        customerCache.put(before, stamp);
+        decisionMemo.remember(key, before, stamp, response());
+        assertNull(customerCache.get(CUSTOMER_ID));
+        assertNull(decisionMemo.get(key));
+    }
+    
+    @Test
+    void writesDuringAnUpdateAreDropped() {
+        versions.beginUpdate(List.of(CUSTOMER_ID));
+        long stamp = versions.stamp(CUSTOMER_ID);
+        DecisionMemo.Key key = decisionMemo.key(request(), 1);
+        
+        customerCache.put(customer(700), stamp);
+        decisionMemo.remember(key, customer(700), stamp, response());
+        versions.endUpdate(List.of(CUSTOMER_ID));
+        
+        assertNull(customerCache.get(CUSTOMER_ID));
+        assertNull(decisionMemo.get(key));
+    }
+    
+    @Test
+    void writesBeforeAnUpdateAreEvictedByIt() {
+        long stamp = versions.stamp(CUSTOMER_ID);
+        DecisionMemo.Key key = decisionMemo.key(request(), 1);
+        customerCache.put(customer(700), stamp);
+        decisionMemo.remember(key, customer(700), stamp, response());
+        assertEquals(Integer.valueOf(700), customerCache.get(CUSTOMER_ID).getCivilScore());
+        assertTrue(decisionMemo.get(key).getEligible());
+        
+        update();
+        
+        assertNull(customerCache.get(CUSTOMER_ID));
+        assertNull(decisionMemo.get(key));
+    }
+    
+    @Test
+    void unchangedCustomersAreCached() {
+        long stamp = versions.stamp(CUSTOMER_ID);
+        DecisionMemo.Key key = decisionMemo.key(request(), 1);
+        customerCache.put(customer(700), stamp);
+        decisionMemo.remember(key, customer(700), stamp, response());
+        
+        assertEquals(Integer.valueOf(700), customerCache.get(CUSTOMER_ID).getCivilScore());
+        assertTrue(decisionMemo.get(key).getEligible());
+    }
+    
+    // What CustomerStateListener does for each applied poll
+    private void update() {
+        versions.beginUpdate(List.of(CUSTOMER_ID));
+        customerCache.evictAll(List.of(CUSTOMER_ID));
+        decisionMemo.evictCustomers(List.of(CUSTOMER_ID));
+        versions.endUpdate(List.of(CUSTOMER_ID));
+    }
+    
+    private static CustomerDTO customer(int score) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(CUSTOMER_ID);
+        customer.setCivilScore(score);
+        customer.setCivilScoreExpiresAt(LocalDateTime.now().plusDays(1));
+        return customer;
+    }
+    
+    private static EligibilityRequestDTO request() {
+        return new EligibilityRequestDTO(CUSTOMER_ID, Money.parse("10000"), 36, "CAR", Money.parse("5000"), Money.parse("1000"));
+    }
+    
+    private static EligibilityResponseDTO response() {
+        EligibilityResponseDTO response = new EligibilityResponseDTO();
+        response.setCustomerId(CUSTOMER_ID);
+        response.setEligible(true);
+        response.setEligibleLoanAmount(Money.parse("10000"));
+        return response;
+    }
+}
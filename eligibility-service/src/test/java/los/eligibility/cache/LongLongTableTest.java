@@ -0,0 +1,163 @@
+package los.eligibility.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongTableTest {
+    
+    private static final int CAPACITY = 16;
+    private static final int MASK = CAPACITY - 1;
+    
+    @Test
+    void collidingKeysWrapAround() {
+        LongLongTable table = new LongLongTable(CAPACITY, null);
+        assertEquals(CAPACITY, table.capacity());
+        // Three keys homed in the last slot occupy 15, 0 and 1; a key homed in 0 is pushed to 2
+        List<Long> last = keysWithHome(MASK, 3);
+        long first = keysWithHome(0, 1).get(0);
+        for (long key : last) {
+            assertTrue(table.put(key, key + 1));
+        }
+        assertTrue(table.put(first, first + 1));
+        assertEquals(4, table.size());
+        for (long key : last) {
+            assertEquals(key + 1, table.get(key));
+        }
+        assertEquals(first + 1, table.get(first));
+        
+        // Overwrite in place across the wrap
+        assertTrue(table.put(last.get(2), 7));
+        assertEquals(7, table.get(last.get(2)));
+        assertEquals(4, table.size());
+        
+        table.remove(last.get(0));
+        assertEquals(0, table.get(last.get(0)));
+        assertEquals(last.get(1) + 1, table.get(last.get(1)));
+        assertEquals(7, table.get(last.get(2)));
+        assertEquals(first + 1, table.get(first));
+        assertEquals(3, table.size());
+        
+        table.remove(last.get(1));
+        table.remove(last.get(2));
+        assertEquals(first + 1, table.get(first));
+        assertEquals(1, table.size());
+        table.remove(first);
+        assertEquals(0, table.get(first));
+        assertEquals(0, table.size());
+    }
+    
+    @Test
+    void displacedKeyIsFoundAfterDelete() {
+        LongLongTable table = new LongLongTable(CAPACITY, null);
+        // a and b are homed in 4, c in 5: a@4, b@5, c@6
+        List<Long> home4 = keysWithHome(4, 2);
+        long a = home4.get(0);
+        long b = home4.get(1);
+        long c = keysWithHome(5, 1).get(0);
+        // d is homed in 7 and must not move into a hole before its home
+        long d = keysWithHome(7, 1).get(0);
+        table.put(a, 1);
+        table.put(b, 2);
+        table.put(c, 3);
+        table.put(d, 4);
+        
+        table.remove(a);
+        assertEquals(0, table.get(a));
+        assertEquals(2, table.get(b));
+        assertEquals(3, table.get(c));
+        assertEquals(4, table.get(d));
+        
+        table.remove(b);
+        assertEquals(3, table.get(c));
+        assertEquals(4, table.get(d));
+        assertEquals(2, table.size());
+        
+        // Removing an absent key that collides with present ones changes nothing
+        table.remove(a);
+        assertEquals(3, table.get(c));
+        assertEquals(2, table.size());
+    }
+    
+    @Test
+    void zeroValueIsRejected() {
+        LongLongTable table = new LongLongTable(CAPACITY, null);
+        assertThrows(IllegalArgumentException.class, () -> table.put(1, 0));
+        assertEquals(0, table.size());
+    }
+    
+    @Test
+    void resizeKeepsEntriesOnHeap() {
+        LongLongTable table = new LongLongTable(CAPACITY, null);
+        fillAndCheck(table, 1000);
+    }
+    
+    @Test
+    void resizeWithSpillFileReplacesTheFile() throws IOException {
+        Path dir = Files.createTempDirectory("customer-states");
+        try {
+            LongLongTable table = new LongLongTable(CAPACITY, dir);
+            assertEquals(1, files(dir).size());
+            
+            fillAndCheck(table, 1000);
+            // Only the current generation is left after the resizes
+            List<Path> files = files(dir);
+            assertEquals(1, files.size());
+            assertEquals(16L * table.capacity(), Files.size(files.get(0)));
+            
+            table.close();
+            assertTrue(files(dir).isEmpty());
+        } finally {
+            for (Path file : files(dir)) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+    
+    private static void fillAndCheck(LongLongTable table, int count) {
+        for (long key = 1; key <= count; key++) {
+            assertTrue(table.put(key, -key));
+        }
+        assertEquals(count, table.size());
+        assertTrue(table.capacity() * 0.7 >= count);
+        for (long key = 1; key <= count; key++) {
+            assertEquals(-key, table.get(key));
+        }
+        assertEquals(0, table.get(count + 1));
+        for (long key = 1; key <= count; key += 2) {
+            table.remove(key);
+        }
+        for (long key = 1; key <= count; key++) {
+            assertEquals(key % 2 == 0 ? -key : 0, table.get(key));
+        }
+        assertEquals(count / 2, table.size());
+    }
+    
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (LongLongTable.index(key, MASK) == home) {
+                keys.add(key);
+            }
+        }
+        assertFalse(keys.isEmpty());
+        return keys;
+    }
+    
+    private static List<Path> files(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
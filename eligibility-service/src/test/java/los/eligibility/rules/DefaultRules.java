@@ -0,0 +1,50 @@
+package los.eligibility.rules;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The rule tables shipped in application.yml, which reproduce the decisions of the
+ * hard-coded thresholds that existed before rules became configurable.
+ */
+public final class DefaultRules {
+    
+    private DefaultRules() {
+    }
+    
+    public static EligibilityRulesProperties properties() {
+        EligibilityRulesProperties properties = new EligibilityRulesProperties();
+        properties.setMinimumScore(580);
+        properties.setMaxLoanAmount(new BigDecimal("500000"));
+        properties.setDefaultTermMonths(60);
+        properties.setTiers(List.of(
+                tier(580, "0.40", "24"),
+                tier(670, "0.45", "36"),
+                tier(740, "0.50", "48")));
+        properties.setInterestRates(List.of(
+                rateTier(580, "7.5"),
+                rateTier(670, "6.0"),
+                rateTier(740, "5.0"),
+                rateTier(800, "4.5")));
+        EligibilityRulesProperties.DtiAdjustment adjustment = new EligibilityRulesProperties.DtiAdjustment();
+        adjustment.setAboveDti(new BigDecimal("0.35"));
+        adjustment.setAddRate(new BigDecimal("0.5"));
+        properties.setDtiAdjustments(List.of(adjustment));
+        return properties;
+    }
+    
+    static EligibilityRulesProperties.Tier tier(int minScore, String maxDti, String incomeMultiplier) {
+        EligibilityRulesProperties.Tier tier = new EligibilityRulesProperties.Tier();
+        tier.setMinScore(minScore);
+        tier.setMaxDti(new BigDecimal(maxDti));
+        tier.setIncomeMultiplier(new BigDecimal(incomeMultiplier));
+        return tier;
+    }
+    
+    static EligibilityRulesProperties.RateTier rateTier(int minScore, String baseRate) {
+        EligibilityRulesProperties.RateTier tier = new EligibilityRulesProperties.RateTier();
+        tier.setMinScore(minScore);
+        tier.setBaseRate(new BigDecimal(baseRate));
+        return tier;
+    }
+}
@@ -0,0 +1,137 @@
+package los.eligibility.rules;
+
+import los.common.money.Money;
+import los.common.money.Rate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pins the compiled default rule set to the if-chains it replaced
+ */
+class RuleSetTest {
+    
+    private final RuleSet rules = RuleSet.compile(DefaultRules.properties(), 7);
+    
+    @Test
+    void scalarsComeFromProperties() {
+        assertEquals(7, rules.version());
+        assertEquals(580, rules.minimumScore());
+        assertEquals(Money.parse("500000"), rules.maxLoanAmount());
+        assertEquals(60, rules.defaultTermMonths());
+    }
+    
+    @Test
+    void maxDtiAndIncomeMultiplierMatchLegacyTiersForEveryScore() {
+        for (int score = RuleSet.MIN_SCORE; score <= RuleSet.MAX_SCORE; score++) {
+            assertEquals(Rate.of(legacyMaxDti(score)), rules.maxDti(score), "maxDti for score " + score);
+            assertEquals(Rate.of(legacyIncomeMultiplier(score)), rules.incomeMultiplier(score), "multiplier for score " + score);
+        }
+    }
+    
+    @Test
+    void interestRateMatchesLegacyRateForEveryScoreAndDti() {
+        for (int score = 580; score <= RuleSet.MAX_SCORE; score++) {
+            for (int dtiCents = 0; dtiCents <= 150; dtiCents++) {
+                BigDecimal dti = BigDecimal.valueOf(dtiCents, 2);
+                assertEquals(Rate.of(legacyInterestRate(score, dti)), rules.interestRate(score, Rate.of(dti)),
+                        "rate for score " + score + " and DTI " + dti);
+            }
+        }
+    }
+    
+    @Test
+    void scoresOutsideTheTableUseTheNearestEnd() {
+        assertEquals(rules.maxDti(RuleSet.MIN_SCORE), rules.maxDti(0));
+        assertEquals(rules.incomeMultiplier(RuleSet.MAX_SCORE), rules.incomeMultiplier(900));
+    }
+    
+    @Test
+    void highestMatchingDtiAdjustmentApplies() {
+        EligibilityRulesProperties properties = DefaultRules.properties();
+        List<EligibilityRulesProperties.DtiAdjustment> adjustments = new ArrayList<>(properties.getDtiAdjustments());
+        EligibilityRulesProperties.DtiAdjustment higher = new EligibilityRulesProperties.DtiAdjustment();
+        higher.setAboveDti(new BigDecimal("0.40"));
+        higher.setAddRate(new BigDecimal("1.0"));
+        // Listed first on purpose: thresholds are sorted when compiled
+        adjustments.add(0, higher);
+        properties.setDtiAdjustments(adjustments);
+        RuleSet adjusted = RuleSet.compile(properties, 1);
+        
+        assertEquals(Rate.parse("6.0"), adjusted.interestRate(700, Rate.parse("0.35")));
+        assertEquals(Rate.parse("6.5"), adjusted.interestRate(700, Rate.parse("0.36")));
+        assertEquals(Rate.parse("6.5"), adjusted.interestRate(700, Rate.parse("0.40")));
+        assertEquals(Rate.parse("7.0"), adjusted.interestRate(700, Rate.parse("0.41")));
+    }
+    
+    @Test
+    void rejectsInvalidTables() {
+        EligibilityRulesProperties descending = DefaultRules.properties();
+        descending.setTiers(List.of(DefaultRules.tier(670, "0.45", "36"), DefaultRules.tier(580, "0.40", "24")));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.compile(descending, 1));
+        
+        EligibilityRulesProperties outOfRange = DefaultRules.properties();
+        outOfRange.setInterestRates(List.of(DefaultRules.rateTier(900, "4.0")));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.compile(outOfRange, 1));
+        
+        EligibilityRulesProperties empty = DefaultRules.properties();
+        empty.setTiers(List.of());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.compile(empty, 1));
+        
+        EligibilityRulesProperties noBaseRate = DefaultRules.properties();
+        noBaseRate.setInterestRates(List.of(DefaultRules.rateTier(580, "7.5"), new EligibilityRulesProperties.RateTier()));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.compile(noBaseRate, 1));
+        
+        EligibilityRulesProperties noMaxLoan = DefaultRules.properties();
+        noMaxLoan.setMaxLoanAmount(BigDecimal.ZERO);
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.compile(noMaxLoan, 1));
+    }
+    
+    // The hard-coded rules EligibilityService used before los.eligibility.rules
+    
+    private static BigDecimal legacyMaxDti(int civilScore) {
+        if (civilScore >= 740) {
+            return new BigDecimal("0.50");
+        } else if (civilScore >= 670) {
+            return new BigDecimal("0.45");
+        } else {
+            return new BigDecimal("0.40");
+        }
+    }
+    
+    private static BigDecimal legacyIncomeMultiplier(int civilScore) {
+        if (civilScore >= 740) {
+            return new BigDecimal("48");
+        } else if (civilScore >= 670) {
+            return new BigDecimal("36");
+        } else {
+            return new BigDecimal("24");
+        }
+    }
+    
+    private static BigDecimal legacyInterestRate(int civilScore, BigDecimal debtToIncomeRatio) {
+        BigDecimal baseRate;
+        if (civilScore >= 800) {
+            baseRate = new BigDecimal("4.5");
+        } else if (civilScore >= 740) {
+            baseRate = new BigDecimal("5.0");
+        } else if (civilScore >= 670) {
+            baseRate = new BigDecimal("6.0");
+        } else {
+            baseRate = new BigDecimal("7.5");
+        }
+        
+        BigDecimal dtiAdjustment = BigDecimal.ZERO;
+        if (debtToIncomeRatio.compareTo(new BigDecimal("0.35")) > 0) {
+            dtiAdjustment = new BigDecimal("0.5");
+        } else if (debtToIncomeRatio.compareTo(new BigDecimal("0.40")) > 0) {
+            dtiAdjustment = new BigDecimal("1.0");
+        }
+        return baseRate.add(dtiAdjustment);
+    }
+}
@@ -0,0 +1,200 @@
+package los.eligibility.service;
+
+import los.common.communication.CommunicationStrategy;
+import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityReasons;
+import los.common.dto.EligibilityRequestDTO;
+import los.common.dto.EligibilityResponseDTO;
+import los.common.money.Money;
+import los.common.money.Rate;
+import los.eligibility.cache.CustomerVersions;
+import los.eligibility.cache.DecisionMemo;
+import los.eligibility.rules.DefaultRules;
+import los.eligibility.rules.EligibilityRuleEngine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the current EligibilityService over a grid of customers and requests and compares every
+ * decision, including the rendered reason, with the BigDecimal implementation it replaced
+ * (kept below as {@link #legacyDecision}).
+ */
+class EligibilityServiceLegacyTest {
+    
+    private static final Integer[] SCORES = {null, 0, 300, 579, 580, 669, 670, 739, 740, 799, 800, 850};
+    private static final String[] INCOMES = {null, "0", "1000", "3333.33", "5000", "12000.50"};
+    private static final String[] EXPENSES = {null, "0", "1000", "1499.99", "2250", "2700", "6000"};
+    private static final String[] AMOUNTS = {"1000", "50000", "120000.55", "500000", "500000.01", "750000"};
+    private static final Integer[] TERMS = {null, 36};
+    private static final long UNKNOWN_CUSTOMER = 999;
+    
+    private final Map<Long, CustomerDTO> customers = new HashMap<>();
+    private final CustomerVersions customerVersions = new CustomerVersions();
+    private final EligibilityService service = new EligibilityService(new StubCustomers(),
+            new EligibilityRuleEngine(DefaultRules.properties()),
+            new DecisionMemo(customerVersions, false, 1000, Duration.ofMinutes(10)), customerVersions);
+    
+    EligibilityServiceLegacyTest() {
+        for (int i = 0; i < SCORES.length; i++) {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId((long) i);
+            customer.setCivilScore(SCORES[i]);
+            customer.setCivilScoreCategory(SCORES[i] == null ? null : SCORES[i] >= 670 ? "GOOD" : "FAIR");
+            customers.put((long) i, customer);
+        }
+    }
+    
+    @Test
+    void decisionsMatchLegacyImplementation() {
+        for (EligibilityRequestDTO request : requests()) {
+            assertSameDecision(request, service.checkEligibility(request));
+        }
+    }
+    
+    @Test
+    void batchDecisionsMatchLegacyImplementation() {
+        List<EligibilityRequestDTO> requests = requests();
+        List<EligibilityResponseDTO> responses = new ArrayList<>();
+        service.checkEligibilityBatch(requests, responses::add);
+        
+        assertEquals(requests.size(), responses.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertSameDecision(requests.get(i), responses.get(i));
+        }
+    }
+    
+    @Test
+    void asyncBatchDecisionsMatchLegacyImplementation() {
+        List<EligibilityRequestDTO> requests = requests();
+        List<EligibilityResponseDTO> responses = new ArrayList<>();
+        service.checkEligibilityBatchAsync(requests, responses::add).join();
+        
+        assertEquals(requests.size(), responses.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertSameDecision(requests.get(i), responses.get(i));
+        }
+    }
+    
+    private List<EligibilityRequestDTO> requests() {
+        List<Long> customerIds = new ArrayList<>(customers.keySet());
+        customerIds.add(UNKNOWN_CUSTOMER);
+        List<EligibilityRequestDTO> requests = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            for (String income : INCOMES) {
+                for (String expenses : EXPENSES) {
+                    for (String amount : AMOUNTS) {
+                        for (Integer term : TERMS) {
+                            requests.add(new EligibilityRequestDTO(customerId, Money.parse(amount), term, "HOME",
+                                    income == null ? null : Money.parse(income),
+                                    expenses == null ? null : Money.parse(expenses)));
+                        }
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+    
+    private void assertSameDecision(EligibilityRequestDTO request, EligibilityResponseDTO actual) {
+        LegacyDecision expected = legacyDecision(request, customers.get(request.getCustomerId()));
+        String context = request.toString();
+        assertEquals(request.getCustomerId(), actual.getCustomerId(), context);
+        assertEquals(expected.eligible(), actual.getEligible(), context);
+        assertEquals(Money.of(expected.eligibleAmount()), actual.getEligibleLoanAmount(), context);
+        assertEquals(expected.interestRate() == null ? null : Rate.of(expected.interestRate()),
+                actual.getRecommendedInterestRate(), context);
+        assertEquals(expected.termMonths(), actual.getRecommendedTermMonths(), context);
+        assertEquals(expected.reason(), EligibilityReasons.render(actual.getReason()), context);
+    }
+    
+    private record LegacyDecision(boolean eligible, BigDecimal eligibleAmount, BigDecimal interestRate,
+                                  Integer termMonths, String reason) {
+    }
+    
+    /**
+     * EligibilityService's decision before rule tables and fixed-point amounts, with the
+     * request's amounts converted back to BigDecimal
+     */
+    private static LegacyDecision legacyDecision(EligibilityRequestDTO request, CustomerDTO customer) {
+        if (customer == null) {
+            return new LegacyDecision(false, BigDecimal.ZERO, null, null, "Customer not found");
+        }
+        Integer score = customer.getCivilScore();
+        if (score == null || score == 0) {
+            return new LegacyDecision(false, BigDecimal.ZERO, null, null,
+                    "Civil/Credit score not available. Please generate a civil score first.");
+        }
+        if (score < 580) {
+            return new LegacyDecision(false, BigDecimal.ZERO, null, null,
+                    String.format("Civil/Credit score too low (%d). Minimum required: %d. Category: %s",
+                            score, 580, customer.getCivilScoreCategory()));
+        }
+        int civilScore = score;
+        BigDecimal monthlyIncome = request.getMonthlyIncome() == null ? null : request.getMonthlyIncome().toBigDecimal();
+        BigDecimal monthlyExpenses = request.getMonthlyExpenses() == null ? null : request.getMonthlyExpenses().toBigDecimal();
+        BigDecimal requestedAmount = request.getRequestedLoanAmount().toBigDecimal();
+        
+        BigDecimal debtToIncomeRatio;
+        if (monthlyIncome == null || monthlyIncome.compareTo(BigDecimal.ZERO) <= 0) {
+            debtToIncomeRatio = new BigDecimal("1.0");
+        } else {
+            debtToIncomeRatio = (monthlyExpenses == null ? BigDecimal.ZERO : monthlyExpenses)
+                    .divide(monthlyIncome, 2, RoundingMode.HALF_UP);
+        }
+        
+        BigDecimal maxDTI = civilScore >= 740 ? new BigDecimal("0.50")
+                : civilScore >= 670 ? new BigDecimal("0.45") : new BigDecimal("0.40");
+        boolean eligible = debtToIncomeRatio.compareTo(maxDTI) <= 0
+                && requestedAmount.compareTo(new BigDecimal("500000")) <= 0;
+        BigDecimal hundred = new BigDecimal("100");
+        if (!eligible) {
+            StringBuilder reason = new StringBuilder("Not eligible: ");
+            if (debtToIncomeRatio.compareTo(maxDTI) > 0) {
+                reason.append(String.format(Locale.ROOT, "DTI ratio %.2f%% exceeds maximum %.2f%% for civil score %d. ",
+                        debtToIncomeRatio.multiply(hundred), maxDTI.multiply(hundred), civilScore));
+            }
+            if (requestedAmount.compareTo(new BigDecimal("500000")) > 0) {
+                reason.append("Requested amount exceeds maximum limit of $500,000. ");
+            }
+            return new LegacyDecision(false, BigDecimal.ZERO, null, null, reason.toString().trim());
+        }
+        
+        BigDecimal incomeMultiplier = civilScore >= 740 ? new BigDecimal("48")
+                : civilScore >= 670 ? new BigDecimal("36") : new BigDecimal("24");
+        BigDecimal baseRate = civilScore >= 800 ? new BigDecimal("4.5")
+                : civilScore >= 740 ? new BigDecimal("5.0")
+                : civilScore >= 670 ? new BigDecimal("6.0") : new BigDecimal("7.5");
+        BigDecimal dtiAdjustment = debtToIncomeRatio.compareTo(new BigDecimal("0.35")) > 0
+                ? new BigDecimal("0.5") : BigDecimal.ZERO;
+        return new LegacyDecision(true,
+                monthlyIncome.multiply(incomeMultiplier).min(requestedAmount),
+                baseRate.add(dtiAdjustment),
+                request.getLoanTermMonths() != null ? request.getLoanTermMonths() : 60,
+                String.format(Locale.ROOT, "Customer approved. Civil Score: %d (%s), DTI: %.2f%% (max allowed: %.2f%%)",
+                        civilScore, customer.getCivilScoreCategory(), debtToIncomeRatio.multiply(hundred),
+                        maxDTI.multiply(hundred)));
+    }
+    
+    private class StubCustomers implements CommunicationStrategy {
+        
+        @Override
+        public CustomerDTO getCustomerById(Long customerId) {
+            return customers.get(customerId);
+        }
+        
+        @Override
+        public EligibilityResponseDTO checkEligibility(EligibilityRequestDTO request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package los.loanapplication.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import los.common.dto.LoanApplicationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for GET /api/loan-applications/{id}, which clients poll while
+ * waiting for a decision.
+ *
+ * Evictions are broadcast with PostgreSQL NOTIFY on {@code los.loan-application.cache.channel}.
+ * NOTIFY is transactional, so other instances (and this one, via
+ * {@link LoanApplicationCacheInvalidationListener}) drop their copy only once the change is committed.
+ */
+@Component
+@Slf4j
+public class LoanApplicationCache implements MeterBinder {
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_NOTIFY_PAYLOAD = 7900;
+
+    private final Cache<Long, LoanApplicationDTO> cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public LoanApplicationCache(JdbcTemplate jdbcTemplate,
+                                @Value("${los.loan-application.cache.max-size:10000}") long maxSize,
+                                @Value("${los.loan-application.cache.ttl:30s}") Duration ttl,
+                                @Value("${los.loan-application.cache.channel:loan_application_cache}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public LoanApplicationDTO get(Long id, Supplier<LoanApplicationDTO> loader) {
+        return cache.get(id, key -> loader.get());
+    }
+
+    /**
+     * Evict locally and on every other instance once the current transaction commits
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+        notifyEvicted(String.valueOf(id));
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(ids);
+
+        StringBuilder payload = new StringBuilder();
+        for (Long id : ids) {
+            if (payload.length() > MAX_NOTIFY_PAYLOAD) {
+                notifyEvicted(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        notifyEvicted(payload.toString());
+    }
+
+    void invalidateLocal(Long id) {
+        cache.invalidate(id);
+    }
+
+    void invalidateAllLocal() {
+        cache.invalidateAll();
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    private void notifyEvicted(String payload) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, channel, payload);
+        } catch (Exception e) {
+            // Other instances fall back to TTL expiry
+            log.warn("Failed to broadcast cache eviction for {}: {}", payload, e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "loanApplications");
+    }
+}
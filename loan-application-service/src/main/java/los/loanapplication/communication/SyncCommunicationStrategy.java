@@ -5,16 +5,17 @@ import io.github.resilience4j.retry.annotation.Retry;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import los.common.communication.CommunicationStrategy;
 import los.common.dto.CustomerDTO;
+import los.common.dto.EligibilityReasons;
 import los.common.dto.EligibilityRequestDTO;
 import los.common.dto.EligibilityResponseDTO;
+import los.common.dto.ReasonCode;
+import los.common.money.Money;
 import los.loanapplication.client.EligibilityServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @Component
 @ConditionalOnProperty(name = "los.communication.mode", havingValue = "SYNC")
 @RequiredArgsConstructor
@@ -57,8 +58,8 @@ public class SyncCommunicationStrategy implements CommunicationStrategy {
         EligibilityResponseDTO fallbackResponse = new EligibilityResponseDTO();
         fallbackResponse.setCustomerId(request.getCustomerId());
         fallbackResponse.setEligible(false);
-        fallbackResponse.setEligibleLoanAmount(BigDecimal.ZERO);
-        fallbackResponse.setReason("Service temporarily unavailable. Please try again later. Error: " + ex.getMessage());
+        fallbackResponse.setEligibleLoanAmount(Money.ZERO);
+        fallbackResponse.setReason(EligibilityReasons.of(ReasonCode.SERVICE_UNAVAILABLE));
         fallbackResponse.setRecommendedInterestRate(null);
         fallbackResponse.setRecommendedTermMonths(null);
         
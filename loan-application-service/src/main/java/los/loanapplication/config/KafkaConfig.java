@@ -28,12 +28,19 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:29092}")
     private String bootstrapServers;
     
+    @Value("${los.loan-application.eligibility-response.max-poll-records:500}")
+    private int eligibilityResponseMaxPollRecords;
+    
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // The outbox relay sends a few hundred records per flush; let them share produce requests
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
     
@@ -48,6 +55,8 @@ public class KafkaConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "loan-application-service-group");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Upper bound on responses applied per batched UPDATE
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, eligibilityResponseMaxPollRecords);
         
         JsonDeserializer<EligibilityResponseMessage> deserializer = new JsonDeserializer<>(EligibilityResponseMessage.class);
         deserializer.addTrustedPackages("*");
@@ -61,6 +70,7 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, EligibilityResponseMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(eligibilityResponseConsumerFactory());
+        factory.setBatchListener(true);
         return factory;
     }
 }
@@ -0,0 +1,26 @@
+package los.loanapplication.config;
+
+import los.common.dto.EligibilityResponseDTO;
+import los.common.messaging.PendingRequestRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Registry of eligibility requests awaiting a Kafka response (ASYNC mode).
+ * Exposed as a MeterBinder, so its gauges show up under /actuator/metrics/los.pending.requests
+ */
+@Configuration
+public class PendingRequestConfig {
+    
+    @Bean
+    public PendingRequestRegistry<EligibilityResponseDTO> eligibilityRequestRegistry(
+            @Value("${los.pending-requests.capacity:100000}") int capacity,
+            @Value("${los.pending-requests.timeout:30s}") Duration timeout,
+            @Value("${los.pending-requests.tick:100ms}") Duration tick,
+            @Value("${los.pending-requests.wheel-size:512}") int wheelSize) {
+        return new PendingRequestRegistry<>("eligibility-requests", capacity, timeout, tick, wheelSize);
+    }
+}
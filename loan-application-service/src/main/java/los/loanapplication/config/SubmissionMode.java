@@ -0,0 +1,9 @@
+package los.loanapplication.config;
+
+/**
+ * How POST /api/loan-applications completes in SYNC communication mode
+ */
+public enum SubmissionMode {
+    INLINE,    // Eligibility chain runs inside the HTTP request, 201 with the decision
+    DEFERRED   // PENDING row is committed and 202 returned; chain runs on a virtual thread
+}
@@ -1,13 +1,30 @@
 package los.loanapplication.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
+import los.common.dto.LoanApplicationBatchResultDTO;
 import los.common.dto.LoanApplicationDTO;
+import los.common.dto.LoanApplicationPageDTO;
+import los.loanapplication.repository.LoanApplicationFilter;
+import los.loanapplication.service.AdmissionControl;
+import los.loanapplication.service.IdempotencyKeyConflictException;
 import los.loanapplication.service.LoanApplicationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,13 +33,99 @@ import java.util.List;
 public class LoanApplicationController {
     
     private final LoanApplicationService loanApplicationService;
+    private final ObjectMapper objectMapper;
+    private final AdmissionControl admissionControl;
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    
+    @Value("${los.loan-application.batch.max-size:1000}")
+    private int maxBatchSize;
+    
+    /**
+     * Create a loan application. With an Idempotency-Key header, a retried request returns the
+     * original application (with Idempotent-Replayed: true) instead of creating a duplicate.
+     * Replays are answered before admission control, which only applies to new submissions.
+     */
     @PostMapping
-    public ResponseEntity<LoanApplicationDTO> createLoanApplication(@Valid @RequestBody LoanApplicationDTO loanApplicationDTO) {
-        LoanApplicationDTO created = loanApplicationService.createLoanApplication(loanApplicationDTO);
+    public ResponseEntity<LoanApplicationDTO> createLoanApplication(
+            @Valid @RequestBody LoanApplicationDTO loanApplicationDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            if (!admissionControl.tryAdmit(1)) {
+                return tooManyRequests();
+            }
+            return created(loanApplicationService.createLoanApplication(loanApplicationDTO));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        LoanApplicationService.IdempotentSubmission submission;
+        try {
+            LoanApplicationDTO replayed = loanApplicationService.findIdempotentReplay(loanApplicationDTO, idempotencyKey).orElse(null);
+            if (replayed != null) {
+                return replayed(replayed);
+            }
+            if (!admissionControl.tryAdmit(1)) {
+                return tooManyRequests();
+            }
+            submission = loanApplicationService.createLoanApplication(loanApplicationDTO, idempotencyKey);
+        } catch (IdempotencyKeyConflictException e) {
+            // 409 while the original request holds the key, 422 if it was used for another request
+            return e.isInFlight() ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.unprocessableEntity().build();
+        }
+        if (submission.replayed()) {
+            return replayed(submission.application());
+        }
+        return created(submission.application());
+    }
+    
+    /**
+     * Eligibility backlog is too deep to decide new submissions in time
+     */
+    private <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.retryAfter().toSeconds()))
+                .build();
+    }
+    
+    private ResponseEntity<LoanApplicationDTO> replayed(LoanApplicationDTO original) {
+        return ResponseEntity.ok().header("Idempotent-Replayed", "true").body(original);
+    }
+    
+    private ResponseEntity<LoanApplicationDTO> created(LoanApplicationDTO created) {
+        if (loanApplicationService.isDeferredSubmission()) {
+            // Decision is made in the background; clients poll the status URL
+            URI statusUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}").buildAndExpand(created.getId()).toUri();
+            return ResponseEntity.accepted().location(statusUrl).body(created);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
+    /**
+     * Submit many loan applications in one call.
+     * Returns 201 when every item was accepted, 207 with per-item errors otherwise
+     * (202 in DEFERRED submission mode, where decisions are made in the background).
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<LoanApplicationBatchResultDTO>> createLoanApplications(
+            @RequestBody List<LoanApplicationDTO> loanApplicationDTOs) {
+        if (loanApplicationDTOs.isEmpty() || loanApplicationDTOs.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!admissionControl.tryAdmit(loanApplicationDTOs.size())) {
+            return tooManyRequests();
+        }
+        List<LoanApplicationBatchResultDTO> results = loanApplicationService.createLoanApplications(loanApplicationDTOs);
+        if (loanApplicationService.isDeferredSubmission()) {
+            return ResponseEntity.accepted().body(results);
+        }
+        boolean allAccepted = results.stream().allMatch(LoanApplicationBatchResultDTO::getAccepted);
+        return ResponseEntity.status(allAccepted ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<LoanApplicationDTO> getLoanApplicationById(@PathVariable Long id) {
         LoanApplicationDTO application = loanApplicationService.getLoanApplicationById(id);
@@ -35,6 +138,50 @@ public class LoanApplicationController {
         return ResponseEntity.ok(applications);
     }
     
+    /**
+     * Keyset-paginated listing, newest first. Follow nextCursor until it is null.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<LoanApplicationPageDTO> getLoanApplicationsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        LoanApplicationFilter filter = new LoanApplicationFilter(status, customerId, from, to);
+        try {
+            return ResponseEntity.ok(loanApplicationService.getLoanApplicationsPage(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Export all matching applications as newline-delimited JSON, streamed row by row
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLoanApplications(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LoanApplicationFilter filter = new LoanApplicationFilter(status, customerId, from, to);
+        
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                loanApplicationService.streamLoanApplications(filter, application -> {
+                    try {
+                        writer.write(application);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    
     @GetMapping
     public ResponseEntity<List<LoanApplicationDTO>> getAllLoanApplications() {
         List<LoanApplicationDTO> applications = loanApplicationService.getAllLoanApplications();
@@ -0,0 +1,45 @@
+package los.loanapplication.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Eligibility request written in the same transaction as its loan application and
+ * published to eligibility-request-topic by the outbox relay after commit.
+ */
+@Entity
+@Table(name = "eligibility_request_outbox")
+@Data
+@NoArgsConstructor
+public class EligibilityOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eligibility_request_outbox_seq")
+    @SequenceGenerator(name = "eligibility_request_outbox_seq", sequenceName = "eligibility_request_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String correlationId;
+    
+    @Column(nullable = false)
+    private Long applicationId;
+    
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload; // EligibilityRequestDTO as JSON
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public EligibilityOutboxMessage(String correlationId, Long applicationId, String payload) {
+        this.correlationId = correlationId;
+        this.applicationId = applicationId;
+        this.payload = payload;
+        this.attempts = 0;
+        this.createdAt = LocalDateTime.now();
+    }
+}
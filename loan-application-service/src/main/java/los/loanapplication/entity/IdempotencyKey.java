@@ -0,0 +1,33 @@
+package los.loanapplication.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key seen on POST /api/loan-applications and the application it created.
+ * Rows older than the configured TTL are treated as absent and purged periodically.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+    @Id
+    @Column(length = 128)
+    private String idempotencyKey;
+    
+    @Column(nullable = false, length = 64)
+    private String requestHash; // SHA-256 of the request body, to detect a key reused for a different request
+    
+    private Long loanApplicationId;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
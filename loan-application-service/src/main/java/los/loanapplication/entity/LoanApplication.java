@@ -1,28 +1,42 @@
 package los.loanapplication.entity;
 
 import jakarta.persistence.*;
+import los.common.money.Money;
+import los.common.money.MoneyConverter;
+import los.common.money.Rate;
+import los.common.money.RateConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loan_applications")
+@Table(name = "loan_applications", indexes = {
+        // Keyset listing: each filter column followed by the (applicationDate, id) sort key
+        @Index(name = "idx_loan_applications_date_id", columnList = "applicationDate, id"),
+        @Index(name = "idx_loan_applications_status_date_id", columnList = "status, applicationDate, id"),
+        @Index(name = "idx_loan_applications_customer_date_id", columnList = "customerId, applicationDate, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class LoanApplication {
+    /**
+     * Pooled sequence instead of IDENTITY so Hibernate can batch inserts:
+     * ids are pre-allocated in blocks matching hibernate.jdbc.batch_size.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_applications_seq")
+    @SequenceGenerator(name = "loan_applications_seq", sequenceName = "loan_applications_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
     private Long customerId;
     
     @Column(nullable = false)
-    private BigDecimal loanAmount;
+    @Convert(converter = MoneyConverter.class)
+    private Money loanAmount;
     
     @Column(nullable = false)
     private Integer loanTermMonths;
@@ -33,9 +47,11 @@ public class LoanApplication {
     private String status; // PENDING, ELIGIBILITY_CHECK, APPROVED, REJECTED
     
     private Boolean eligible;
-    private BigDecimal eligibleLoanAmount;
+    @Convert(converter = MoneyConverter.class)
+    private Money eligibleLoanAmount;
     private String eligibilityReason;
-    private BigDecimal recommendedInterestRate;
+    @Convert(converter = RateConverter.class)
+    private Rate recommendedInterestRate;
     private Integer recommendedTermMonths;
     
     @Column(nullable = false)
@@ -0,0 +1,36 @@
+package los.loanapplication.repository;
+
+import los.loanapplication.entity.EligibilityOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EligibilityOutboxRepository extends JpaRepository<EligibilityOutboxMessage, Long> {
+    
+    /**
+     * Oldest unpublished messages, locked for the current transaction.
+     * Rows locked by another relay instance are skipped rather than waited on.
+     */
+    @Query(value = "SELECT * FROM eligibility_request_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EligibilityOutboxMessage> lockNextBatch(@Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE EligibilityOutboxMessage m SET m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Withdraw a request that has not been published yet
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EligibilityOutboxMessage m WHERE m.correlationId = :correlationId")
+    int deleteByCorrelationId(@Param("correlationId") String correlationId);
+}
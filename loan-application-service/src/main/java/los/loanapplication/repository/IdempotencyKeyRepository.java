@@ -0,0 +1,37 @@
+package los.loanapplication.repository;
+
+import los.loanapplication.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    
+    /**
+     * Claim a key, taking over a row that expired before {@code cutoff}.
+     * Blocks while another transaction holds the same key.
+     *
+     * @return 1 if the key was claimed, 0 if it is live and owned by an earlier request
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) " +
+            "VALUES (:key, :requestHash, :now) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "created_at = EXCLUDED.created_at, loan_application_id = NULL " +
+            "WHERE idempotency_keys.created_at < :cutoff", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.loanApplicationId = :applicationId WHERE k.idempotencyKey = :key")
+    int link(@Param("key") String key, @Param("applicationId") Long applicationId);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
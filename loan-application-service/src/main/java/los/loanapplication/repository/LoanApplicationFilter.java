@@ -0,0 +1,10 @@
+package los.loanapplication.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for listing loan applications; null fields are ignored.
+ * {@code from} is inclusive and {@code to} exclusive on applicationDate.
+ */
+public record LoanApplicationFilter(String status, Long customerId, LocalDateTime from, LocalDateTime to) {
+}
@@ -2,12 +2,36 @@ package los.loanapplication.repository;
 
 import los.loanapplication.entity.LoanApplication;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
+public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long>, LoanApplicationRepositoryCustom {
     List<LoanApplication> findByCustomerId(Long customerId);
     List<LoanApplication> findByStatus(String status);
+    
+    /**
+     * End an eligibility check without a decision, unless it already has one
+     *
+     * @return 0 if the application is no longer in ELIGIBILITY_CHECK
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE LoanApplication a SET a.status = :status, a.eligibilityReason = :reason, a.lastUpdated = :now " +
+            "WHERE a.id = :id AND a.status = 'ELIGIBILITY_CHECK'")
+    int finishEligibilityCheck(@Param("id") Long id, @Param("status") String status,
+                               @Param("reason") String reason, @Param("now") LocalDateTime now);
+    
+    /**
+     * @return the given applications that have left ELIGIBILITY_CHECK (decided, timed out or failed)
+     */
+    @Query("SELECT a.id FROM LoanApplication a WHERE a.id IN :ids AND a.status <> 'ELIGIBILITY_CHECK'")
+    List<Long> findIdsOutOfEligibilityCheck(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,39 @@
+package los.loanapplication.repository;
+
+import los.common.dto.EligibilityResponseDTO;
+import los.loanapplication.entity.LoanApplication;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom bulk operations for loan applications that bypass entity loading
+ */
+public interface LoanApplicationRepositoryCustom {
+    
+    /**
+     * Apply eligibility results to many applications with one JDBC batch
+     * instead of a findById/save round trip per application.
+     * Only applications still in ELIGIBILITY_CHECK are updated, so a duplicate or late
+     * result never overwrites a decision, TIMEOUT or PROCESSING_FAILED.
+     *
+     * @param results eligibility result per application id
+     * @return number of rows updated
+     */
+    int bulkApplyEligibilityResults(Map<Long, EligibilityResponseDTO> results);
+    
+    /**
+     * Keyset page ordered by (applicationDate DESC, id DESC).
+     *
+     * @param after position of the last row of the previous page, or null for the first page
+     */
+    List<LoanApplication> findPage(LoanApplicationFilter filter, LoanApplicationCursor after, int limit);
+    
+    /**
+     * Stream every matching row through a server-side cursor in listing order.
+     * Rows are mapped one at a time and never attached to a persistence context,
+     * so memory stays flat regardless of table size.
+     */
+    void streamAll(LoanApplicationFilter filter, int fetchSize, Consumer<LoanApplication> consumer);
+}
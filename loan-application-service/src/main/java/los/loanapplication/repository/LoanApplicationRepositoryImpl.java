@@ -0,0 +1,149 @@
+package los.loanapplication.repository;
+
+import los.common.dto.EligibilityResponseDTO;
+import los.common.money.Money;
+import los.common.money.Rate;
+import los.loanapplication.entity.LoanApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class LoanApplicationRepositoryImpl implements LoanApplicationRepositoryCustom {
+    
+    private static final String UPDATE_ELIGIBILITY_RESULT_SQL =
+            "UPDATE loan_applications SET eligible = ?, eligible_loan_amount = ?, eligibility_reason = ?, " +
+            "recommended_interest_rate = ?, recommended_term_months = ?, status = ?, last_updated = ? " +
+            "WHERE id = ? AND status = 'ELIGIBILITY_CHECK'";
+    
+    private static final String SELECT_APPLICATIONS_SQL =
+            "SELECT id, customer_id, loan_amount, loan_term_months, loan_purpose, status, eligible, " +
+            "eligible_loan_amount, eligibility_reason, recommended_interest_rate, recommended_term_months, " +
+            "application_date, last_updated FROM loan_applications";
+    
+    private static final RowMapper<LoanApplication> ROW_MAPPER = (rs, rowNum) -> {
+        LoanApplication application = new LoanApplication();
+        application.setId(rs.getLong("id"));
+        application.setCustomerId(rs.getLong("customer_id"));
+        application.setLoanAmount(money(rs.getBigDecimal("loan_amount")));
+        application.setLoanTermMonths(rs.getInt("loan_term_months"));
+        application.setLoanPurpose(rs.getString("loan_purpose"));
+        application.setStatus(rs.getString("status"));
+        application.setEligible(rs.getObject("eligible", Boolean.class));
+        application.setEligibleLoanAmount(money(rs.getBigDecimal("eligible_loan_amount")));
+        application.setEligibilityReason(rs.getString("eligibility_reason"));
+        application.setRecommendedInterestRate(rate(rs.getBigDecimal("recommended_interest_rate")));
+        application.setRecommendedTermMonths(rs.getObject("recommended_term_months", Integer.class));
+        application.setApplicationDate(rs.getObject("application_date", LocalDateTime.class));
+        application.setLastUpdated(rs.getObject("last_updated", LocalDateTime.class));
+        return application;
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    @Transactional
+    public int bulkApplyEligibilityResults(Map<Long, EligibilityResponseDTO> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(results.size());
+        results.forEach((applicationId, response) -> batchArgs.add(new Object[] {
+                response.getEligible(),
+                response.getEligibleLoanAmount() != null ? response.getEligibleLoanAmount().toBigDecimal() : null,
+                response.getReason(),
+                response.getRecommendedInterestRate() != null ? response.getRecommendedInterestRate().toBigDecimal() : null,
+                response.getRecommendedTermMonths(),
+                Boolean.TRUE.equals(response.getEligible()) ? "APPROVED" : "REJECTED",
+                now,
+                applicationId
+        }));
+        
+        int[] argTypes = {Types.BOOLEAN, Types.NUMERIC, Types.VARCHAR, Types.NUMERIC,
+                Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT};
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_ELIGIBILITY_RESULT_SQL, batchArgs, argTypes);
+        
+        int total = 0;
+        for (int count : updated) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+    
+    @Override
+    public List<LoanApplication> findPage(LoanApplicationFilter filter, LoanApplicationCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildListingQuery(filter, after, args) + " LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+    
+    @Override
+    @Transactional(readOnly = true) // PostgreSQL only honours fetchSize with autocommit off
+    public void streamAll(LoanApplicationFilter filter, int fetchSize, Consumer<LoanApplication> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildListingQuery(filter, null, args);
+        
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, 0)));
+    }
+    
+    /**
+     * Only the filters that are set become predicates, so each combination can use
+     * its matching (…, application_date, id) index for both filtering and ordering.
+     */
+    private String buildListingQuery(LoanApplicationFilter filter, LoanApplicationCursor after, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_APPLICATIONS_SQL).append(" WHERE 1 = 1");
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status());
+        }
+        if (filter.customerId() != null) {
+            sql.append(" AND customer_id = ?");
+            args.add(filter.customerId());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND application_date >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND application_date < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (after != null) {
+            sql.append(" AND (application_date, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.applicationDate()));
+            args.add(after.id());
+        }
+        return sql.append(" ORDER BY application_date DESC, id DESC").toString();
+    }
+    
+    private static Money money(BigDecimal value) {
+        return value != null ? Money.of(value) : null;
+    }
+    
+    private static Rate rate(BigDecimal value) {
+        return value != null ? Rate.of(value) : null;
+    }
+}
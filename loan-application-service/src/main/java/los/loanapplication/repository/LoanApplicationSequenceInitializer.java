@@ -0,0 +1,53 @@
+package los.loanapplication.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Creates loan_applications_seq and moves it past the ids already in loan_applications.
+ *
+ * Rows inserted before the switch from IDENTITY ids were numbered by the column's own sequence,
+ * while a sequence created by ddl-auto starts at 1 and would hand out ids that are taken.
+ * Runs once the schema is updated and before the context starts serving requests; an
+ * advisory lock keeps instances starting together from moving the sequence backwards.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class LoanApplicationSequenceInitializer implements InitializingBean {
+
+    // Must match allocationSize on LoanApplication.id
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String CREATE_SEQUENCE_SQL =
+            "CREATE SEQUENCE IF NOT EXISTS loan_applications_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE;
+
+    // The pooled optimizer hands out (value - allocationSize, value], so the next value must clear max(id) by a block
+    private static final String ALIGN_SEQUENCE_SQL =
+            "SELECT setval('loan_applications_seq', m.max_id + " + ALLOCATION_SIZE + ") " +
+            "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM loan_applications) m " +
+            "WHERE m.max_id > 0 AND (SELECT last_value FROM loan_applications_seq) < m.max_id + " + ALLOCATION_SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        List<Long> aligned = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('loan_applications_seq'))", Object.class);
+            jdbcTemplate.execute(CREATE_SEQUENCE_SQL);
+            return jdbcTemplate.queryForList(ALIGN_SEQUENCE_SQL, Long.class);
+        });
+        if (aligned != null && !aligned.isEmpty()) {
+            log.info("Moved loan_applications_seq past existing ids to {}", aligned.get(0));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package los.loanapplication.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import los.common.dto.EligibilityResponseDTO;
+import los.common.messaging.PendingRequestRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for loan submissions.
+ *
+ * New submissions are shed (429 + Retry-After) while the eligibility backlog is larger than can be
+ * decided before requests start timing out: too many checks in flight, too much lag on
+ * eligibility-request-topic, or recent decisions already close to the timeout.
+ * Admission resumes once every signal is back below {@code resume-ratio} of its limit.
+ */
+@Component
+@Slf4j
+public class AdmissionControl implements MeterBinder {
+    
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long MIN_RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+    
+    private final PendingRequestRegistry<EligibilityResponseDTO> eligibilityRequests;
+    private final EligibilityCheckExecutor eligibilityCheckExecutor;
+    private final Optional<EligibilityLagMonitor> lagMonitor;
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long maxConsumerLag;
+    private final long maxDecisionLatencyMillis;
+    private final double resumeRatio;
+    
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double decisionLatencyMillis;
+    private volatile boolean shedding;
+    private volatile String sheddingReason;
+    
+    public AdmissionControl(PendingRequestRegistry<EligibilityResponseDTO> eligibilityRequests,
+                            EligibilityCheckExecutor eligibilityCheckExecutor,
+                            Optional<EligibilityLagMonitor> lagMonitor,
+                            @Value("${los.loan-application.admission.enabled:true}") boolean enabled,
+                            @Value("${los.loan-application.admission.max-in-flight:5000}") int maxInFlight,
+                            @Value("${los.loan-application.admission.max-consumer-lag:5000}") long maxConsumerLag,
+                            @Value("${los.loan-application.admission.max-decision-latency:20s}") Duration maxDecisionLatency,
+                            @Value("${los.loan-application.admission.resume-ratio:0.8}") double resumeRatio) {
+        this.eligibilityRequests = eligibilityRequests;
+        this.eligibilityCheckExecutor = eligibilityCheckExecutor;
+        this.lagMonitor = lagMonitor;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxConsumerLag = maxConsumerLag;
+        this.maxDecisionLatencyMillis = maxDecisionLatency.toMillis();
+        this.resumeRatio = resumeRatio;
+    }
+    
+    /**
+     * @param submissions number of applications in the request
+     * @return false if the submission should be rejected with 429
+     */
+    public boolean tryAdmit(int submissions) {
+        if (!enabled) {
+            return true;
+        }
+        if (evaluate(submissions)) {
+            rejected.addAndGet(submissions);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Suggested Retry-After: roughly how long the current backlog takes to be decided
+     */
+    public Duration retryAfter() {
+        long seconds = (long) Math.ceil(decisionLatencyMillis / 1000);
+        return Duration.ofSeconds(Math.clamp(seconds, MIN_RETRY_AFTER_SECONDS, MAX_RETRY_AFTER_SECONDS));
+    }
+    
+    /**
+     * Time from dispatching an eligibility check to its decision (or timeout)
+     */
+    public synchronized void recordDecisionLatency(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        decisionLatencyMillis = decisionLatencyMillis == 0
+                ? millis
+                : LATENCY_SMOOTHING * millis + (1 - LATENCY_SMOOTHING) * decisionLatencyMillis;
+    }
+    
+    public Map<String, Object> snapshot() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", enabled);
+        state.put("shedding", shedding);
+        state.put("reason", sheddingReason);
+        state.put("inFlight", inFlight());
+        state.put("maxInFlight", maxInFlight);
+        state.put("consumerLag", consumerLag());
+        state.put("maxConsumerLag", maxConsumerLag);
+        state.put("decisionLatencyMillis", Math.round(decisionLatencyMillis));
+        state.put("maxDecisionLatencyMillis", maxDecisionLatencyMillis);
+        state.put("retryAfterSeconds", retryAfter().toSeconds());
+        state.put("rejected", rejected.get());
+        return state;
+    }
+    
+    private synchronized boolean evaluate(int incoming) {
+        long inFlight = inFlight();
+        long lag = consumerLag();
+        // A stale latency estimate means nothing once the backlog has drained
+        double latency = inFlight > 0 ? decisionLatencyMillis : 0;
+        double limit = shedding ? resumeRatio : 1.0;
+        
+        String reason = null;
+        if (inFlight + incoming > maxInFlight * limit) {
+            reason = "in-flight eligibility checks " + inFlight + " (max " + maxInFlight + ")";
+        } else if (lag >= 0 && lag > maxConsumerLag * limit) {
+            reason = "eligibility-request-topic lag " + lag + " (max " + maxConsumerLag + ")";
+        } else if (latency > maxDecisionLatencyMillis * limit) {
+            reason = "decision latency " + Math.round(latency) + "ms (max " + maxDecisionLatencyMillis + "ms)";
+        }
+        
+        boolean shed = reason != null;
+        if (shed && !shedding) {
+            log.warn("Shedding loan submissions: {}", reason);
+        } else if (!shed && shedding) {
+            log.info("Resuming loan submissions");
+        }
+        shedding = shed;
+        sheddingReason = reason;
+        return shed;
+    }
+    
+    private long inFlight() {
+        return eligibilityRequests.size() + eligibilityCheckExecutor.pendingCount();
+    }
+    
+    private long consumerLag() {
+        return lagMonitor.map(EligibilityLagMonitor::lag).orElse(-1L);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("los.admission.shedding", this, a -> a.shedding ? 1 : 0)
+                .description("1 while new loan submissions are rejected with 429")
+                .register(registry);
+        Gauge.builder("los.admission.decision.latency", this, a -> a.decisionLatencyMillis)
+                .description("Smoothed time from eligibility dispatch to decision")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("los.admission.consumer.lag", this, AdmissionControl::consumerLag)
+                .description("eligibility-request-topic lag of eligibility-service, -1 if unknown")
+                .register(registry);
+        FunctionCounter.builder("los.admission.rejected", rejected, AtomicLong::get)
+                .description("Loan submissions rejected by admission control")
+                .register(registry);
+    }
+}
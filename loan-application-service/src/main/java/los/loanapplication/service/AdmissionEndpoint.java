@@ -0,0 +1,24 @@
+package los.loanapplication.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/admission - current admission control state and signals
+ */
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint {
+    
+    private final AdmissionControl admissionControl;
+    
+    @ReadOperation
+    public Map<String, Object> admission() {
+        return admissionControl.snapshot();
+    }
+}
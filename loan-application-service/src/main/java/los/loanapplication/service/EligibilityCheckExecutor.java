@@ -0,0 +1,88 @@
+package los.loanapplication.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs deferred SYNC eligibility chains (eligibility -> customer -> civil service) on virtual threads,
+ * so neither Tomcat threads nor pooled DB connections are held while downstream calls are in progress.
+ *
+ * At most {@code max-concurrent} chains call downstream at once; up to {@code max-pending} chains
+ * (running plus waiting) are accepted before submissions are rejected.
+ */
+@Component
+@Slf4j
+public class EligibilityCheckExecutor implements MeterBinder, DisposableBean {
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("eligibility-check-", 0).factory());
+    private final Semaphore permits;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public EligibilityCheckExecutor(
+            @Value("${los.loan-application.submission.max-concurrent:20}") int maxConcurrent,
+            @Value("${los.loan-application.submission.max-pending:10000}") int maxPending) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @throws RejectedExecutionException when {@code max-pending} chains are already accepted
+     */
+    public void submit(Runnable task) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Too many deferred eligibility checks (" + maxPending + ")");
+        }
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+                running.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Deferred eligibility check failed: {}", e.getMessage(), e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("los.eligibility.deferred.pending", pending, AtomicInteger::get)
+                .description("Deferred eligibility checks accepted and not yet finished")
+                .register(registry);
+        Gauge.builder("los.eligibility.deferred.running", running, AtomicInteger::get)
+                .description("Deferred eligibility checks currently calling downstream services")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package los.loanapplication.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Periodically samples how far eligibility-service is behind on eligibility-request-topic (ASYNC mode).
+ */
+@Component
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+@Slf4j
+public class EligibilityLagMonitor implements DisposableBean {
+    
+    private static final String TOPIC = "eligibility-request-topic";
+    private static final String CONSUMER_GROUP = "eligibility-service-group";
+    private static final long SAMPLE_TIMEOUT_SECONDS = 5;
+    
+    private final AdminClient adminClient;
+    private volatile long lag = -1;
+    
+    public EligibilityLagMonitor(KafkaAdmin kafkaAdmin) {
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+    }
+    
+    /**
+     * Records on eligibility-request-topic not yet consumed by eligibility-service, or -1 if unknown
+     */
+    public long lag() {
+        return lag;
+    }
+    
+    @Scheduled(fixedDelayString = "${los.loan-application.admission.lag-sample-interval:5s}")
+    public void sample() {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(CONSUMER_GROUP)
+                    .partitionsToOffsetAndMetadata().get(SAMPLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            committed.forEach((partition, offset) -> {
+                if (TOPIC.equals(partition.topic()) && offset != null) {
+                    latest.put(partition, OffsetSpec.latest());
+                }
+            });
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets =
+                    adminClient.listOffsets(latest).all().get(SAMPLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            
+            long total = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> entry : endOffsets.entrySet()) {
+                total += Math.max(0, entry.getValue().offset() - committed.get(entry.getKey()).offset());
+            }
+            lag = total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Failed to sample {} lag: {}", TOPIC, e.getMessage());
+            lag = -1;
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        adminClient.close();
+    }
+}
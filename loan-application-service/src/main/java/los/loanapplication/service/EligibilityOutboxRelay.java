@@ -0,0 +1,146 @@
+package los.loanapplication.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import los.common.dto.EligibilityRequestDTO;
+import los.loanapplication.entity.EligibilityOutboxMessage;
+import los.loanapplication.repository.EligibilityOutboxRepository;
+import los.loanapplication.service.LoanApplicationService.EligibilityRequestMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes eligibility requests from the outbox table (ASYNC mode).
+ *
+ * Each round locks up to {@code batch-size} rows with FOR UPDATE SKIP LOCKED, so several
+ * instances can relay in parallel, sends them all before flushing once, waits for the acks
+ * under one {@code send-timeout} deadline and deletes the rows Kafka acknowledged.
+ * Unacknowledged rows stay for the next round (at-least-once delivery); after
+ * {@code max-attempts} the application is marked PROCESSING_FAILED unless it was decided
+ * or timed out meanwhile. A request that times out is removed from the outbox by the submitter.
+ */
+@Component
+@ConditionalOnProperty(name = "los.communication.mode", havingValue = "ASYNC")
+@RequiredArgsConstructor
+@Slf4j
+public class EligibilityOutboxRelay {
+    
+    private final EligibilityOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final LoanApplicationService loanApplicationService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${los.loan-application.outbox.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${los.loan-application.outbox.send-timeout:10s}")
+    private Duration sendTimeout;
+    
+    @Value("${los.loan-application.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Scheduled(fixedDelayString = "${los.loan-application.outbox.poll-interval:100ms}")
+    public void relay() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published != null && published == batchSize);
+    }
+    
+    /**
+     * @return rows published, or 0 if any send failed so the next round backs off until the next poll
+     */
+    private int publishBatch() {
+        List<EligibilityOutboxMessage> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        List<EligibilityOutboxMessage> failed = new ArrayList<>();
+        for (EligibilityOutboxMessage message : batch) {
+            try {
+                sends.add(kafkaTemplate.send("eligibility-request-topic", message.getCorrelationId(), toKafkaMessage(message)));
+            } catch (RuntimeException e) {
+                log.error("Failed to send outbox message {}: {}", message.getCorrelationId(), e.getMessage());
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        kafkaTemplate.flush();
+        
+        // One deadline for the whole batch, since its rows stay locked while we wait
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed and unacknowledged sends are told apart per row below
+        }
+        
+        List<Long> sent = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<SendResult<String, Object>> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                sent.add(batch.get(i).getId());
+            } else {
+                failed.add(batch.get(i));
+            }
+        }
+        
+        outboxRepository.deleteAllByIdInBatch(sent);
+        if (!failed.isEmpty()) {
+            handleFailures(failed);
+        }
+        log.debug("Relayed {} of {} eligibility requests", sent.size(), batch.size());
+        return failed.isEmpty() ? batch.size() : 0;
+    }
+    
+    private void handleFailures(List<EligibilityOutboxMessage> failed) {
+        log.warn("Failed to publish {} eligibility requests, will retry", failed.size());
+        
+        List<Long> retry = new ArrayList<>(failed.size());
+        List<EligibilityOutboxMessage> exhausted = new ArrayList<>();
+        for (EligibilityOutboxMessage message : failed) {
+            if (message.getAttempts() + 1 >= maxAttempts) {
+                exhausted.add(message);
+            } else {
+                retry.add(message.getId());
+            }
+        }
+        
+        if (!retry.isEmpty()) {
+            outboxRepository.incrementAttempts(retry);
+        }
+        for (EligibilityOutboxMessage message : exhausted) {
+            log.error("Giving up on eligibility request {} after {} attempts", message.getCorrelationId(), maxAttempts);
+            loanApplicationService.handleUndeliverableEligibilityRequest(message.getApplicationId(), message.getCorrelationId());
+        }
+        outboxRepository.deleteAllByIdInBatch(exhausted.stream().map(EligibilityOutboxMessage::getId).toList());
+    }
+    
+    private EligibilityRequestMessage toKafkaMessage(EligibilityOutboxMessage message) {
+        try {
+            EligibilityRequestDTO request = objectMapper.readValue(message.getPayload(), EligibilityRequestDTO.class);
+            return new EligibilityRequestMessage(message.getCorrelationId(), message.getApplicationId(), request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for " + message.getCorrelationId(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package los.loanapplication.service;
+
+import lombok.Getter;
+
+/**
+ * An Idempotency-Key that cannot be used for this submission: either it was already used for a
+ * different request, or another request holding it has not finished yet.
+ */
+@Getter
+public class IdempotencyKeyConflictException extends RuntimeException {
+    
+    private final boolean inFlight;
+    
+    private IdempotencyKeyConflictException(String message, boolean inFlight) {
+        super(message);
+        this.inFlight = inFlight;
+    }
+    
+    public static IdempotencyKeyConflictException reused(String key) {
+        return new IdempotencyKeyConflictException("Idempotency-Key " + key + " was already used for a different request", false);
+    }
+    
+    public static IdempotencyKeyConflictException inFlight(String key) {
+        return new IdempotencyKeyConflictException("Idempotency-Key " + key + " is not available", true);
+    }
+}
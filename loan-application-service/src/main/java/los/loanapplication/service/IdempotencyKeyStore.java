@@ -0,0 +1,124 @@
+package los.loanapplication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import los.common.dto.LoanApplicationDTO;
+import los.common.money.Money;
+import los.loanapplication.entity.IdempotencyKey;
+import los.loanapplication.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Two-tier dedup store for Idempotency-Key on loan application submission.
+ *
+ * Recent keys are answered from a bounded in-memory cache; the idempotency_keys table is the
+ * source of truth across instances and restarts. Keys are claimed in the submitting transaction,
+ * so a concurrent retry waits for the original request and then replays its result.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyStore implements MeterBinder {
+    
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, IdempotencyKey> recentKeys;
+    private final Duration ttl;
+    
+    public IdempotencyKeyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                               @Value("${los.loan-application.idempotency.ttl:24h}") Duration ttl,
+                               @Value("${los.loan-application.idempotency.cache-size:100000}") long cacheSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * Application previously created with this key, if any
+     *
+     * @throws IdempotencyKeyConflictException if the key was used for a different request
+     */
+    public Optional<Long> findApplicationId(String key, String requestHash) {
+        IdempotencyKey record = recentKeys.getIfPresent(key);
+        if (record == null) {
+            record = idempotencyKeyRepository.findById(key)
+                    .filter(k -> k.getLoanApplicationId() != null)
+                    .filter(k -> k.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl)))
+                    .orElse(null);
+            if (record == null) {
+                return Optional.empty();
+            }
+            recentKeys.put(key, record);
+        }
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw IdempotencyKeyConflictException.reused(key);
+        }
+        return Optional.of(record.getLoanApplicationId());
+    }
+    
+    /**
+     * Claim the key in the current transaction.
+     *
+     * @return false if the key is already owned by a committed request
+     */
+    public boolean claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyKeyRepository.claim(key, requestHash, now, now.minus(ttl)) == 1;
+    }
+    
+    public void link(String key, Long applicationId) {
+        idempotencyKeyRepository.link(key, applicationId);
+    }
+    
+    /**
+     * Add a committed key to the in-memory tier
+     */
+    public void remember(String key, String requestHash, Long applicationId) {
+        recentKeys.put(key, new IdempotencyKey(key, requestHash, applicationId, LocalDateTime.now()));
+    }
+    
+    @Scheduled(fixedDelayString = "${los.loan-application.idempotency.purge-interval:10m}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+    
+    public static String requestHash(LoanApplicationDTO request) {
+        Money amount = request.getLoanAmount();
+        String canonical = request.getCustomerId() + "|"
+                + (amount != null ? amount.toBigDecimal().stripTrailingZeros().toPlainString() : null) + "|"
+                + request.getLoanTermMonths() + "|"
+                + request.getLoanPurpose();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, recentKeys, "idempotencyKeys");
+    }
+}
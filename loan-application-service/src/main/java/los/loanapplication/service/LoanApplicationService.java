@@ -3,26 +3,44 @@ package los.loanapplication.service;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import los.common.communication.CommunicationStrategy;
 import los.common.config.CommunicationMode;
 import los.common.dto.*;
+import los.common.messaging.PendingRequestRegistry;
+import los.common.money.Money;
+import los.loanapplication.cache.LoanApplicationCache;
+import los.loanapplication.config.SubmissionMode;
+import los.loanapplication.entity.EligibilityOutboxMessage;
 import los.loanapplication.entity.LoanApplication;
+import los.loanapplication.repository.EligibilityOutboxRepository;
+import los.loanapplication.repository.LoanApplicationCursor;
+import los.loanapplication.repository.LoanApplicationFilter;
 import los.loanapplication.repository.LoanApplicationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,44 +50,289 @@ public class LoanApplicationService {
     
     private final LoanApplicationRepository loanApplicationRepository;
     private final CommunicationStrategy communicationStrategy;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EligibilityOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
     
     @Value("${los.communication.mode:SYNC}")
     private CommunicationMode communicationMode;
     
-    private final Map<String, CompletableFuture<EligibilityResponseDTO>> eligibilityRequests = new ConcurrentHashMap<>();
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int SETTLE_QUERY_CHUNK = 1000;
+    
+    @Value("${los.loan-application.export.fetch-size:1000}")
+    private int exportFetchSize;
+    
+    @Value("${los.loan-application.submission.mode:INLINE}")
+    private SubmissionMode submissionMode;
+    
+    private final PendingRequestRegistry<EligibilityResponseDTO> eligibilityRequests;
+    private final EligibilityCheckExecutor eligibilityCheckExecutor;
+    private final LoanApplicationCache applicationCache;
+    private final IdempotencyKeyStore idempotencyKeys;
+    private final AdmissionControl admissionControl;
+    private final TransactionTemplate transactionTemplate;
+    
+    // ASYNC checks this instance is waiting for, by application id
+    private final Map<Long, PendingCheck> pendingChecks = new ConcurrentHashMap<>();
     
     @Transactional
     public LoanApplicationDTO createLoanApplication(LoanApplicationDTO loanApplicationDTO) {
         log.info("Creating loan application for customer: {}", loanApplicationDTO.getCustomerId());
         
-        LoanApplication application = new LoanApplication();
-
-        application.setCustomerId(loanApplicationDTO.getCustomerId());
-        application.setLoanAmount(loanApplicationDTO.getLoanAmount());
-        application.setLoanTermMonths(loanApplicationDTO.getLoanTermMonths());
-        application.setLoanPurpose(loanApplicationDTO.getLoanPurpose());
-        application.setStatus("PENDING");
-        application.setApplicationDate(LocalDateTime.now());
-        application.setLastUpdated(LocalDateTime.now());
+        LoanApplication application = newApplication(loanApplicationDTO, "PENDING", LocalDateTime.now());
         
         LoanApplication saved = loanApplicationRepository.save(application);
         
+        if (isDeferredSubmission()) {
+            // Only start the chain once the PENDING row is visible to other connections
+            EligibilityRequestDTO eligibilityRequest = buildEligibilityRequest(loanApplicationDTO);
+            afterCommit(() -> submitDeferredEligibilityCheck(saved.getId(), eligibilityRequest));
+            return convertToDTO(saved);
+        }
+        
         // Trigger eligibility check
         checkEligibilityAsync(saved.getId(), loanApplicationDTO);
         
         return convertToDTO(saved);
     }
     
-    private void checkEligibilityAsync(Long applicationId, LoanApplicationDTO loanApplicationDTO) {
+    /**
+     * Create a loan application at most once per Idempotency-Key.
+     * A replayed key returns the original application without any new downstream calls;
+     * a retry racing the original request waits for it to commit and then replays it.
+     *
+     * @throws IdempotencyKeyConflictException if the key was already used for a different request,
+     *         or is held by a request that has not committed an application
+     */
+    @Transactional
+    public IdempotentSubmission createLoanApplication(LoanApplicationDTO loanApplicationDTO, String idempotencyKey) {
+        String requestHash = IdempotencyKeyStore.requestHash(loanApplicationDTO);
+        
+        Long replayId = idempotencyKeys.findApplicationId(idempotencyKey, requestHash).orElse(null);
+        if (replayId == null && !idempotencyKeys.claim(idempotencyKey, requestHash)) {
+            replayId = idempotencyKeys.findApplicationId(idempotencyKey, requestHash)
+                    .orElseThrow(() -> IdempotencyKeyConflictException.inFlight(idempotencyKey));
+        }
+        if (replayId != null) {
+            log.info("Replaying loan application {} for Idempotency-Key {}", replayId, idempotencyKey);
+            return new IdempotentSubmission(getLoanApplicationById(replayId), true);
+        }
+        
+        LoanApplicationDTO created = createLoanApplication(loanApplicationDTO);
+        idempotencyKeys.link(idempotencyKey, created.getId());
+        afterCommit(() -> idempotencyKeys.remember(idempotencyKey, requestHash, created.getId()));
+        return new IdempotentSubmission(created, false);
+    }
+    
+    public record IdempotentSubmission(LoanApplicationDTO application, boolean replayed) {
+    }
+    
+    /**
+     * Application already created with this Idempotency-Key, looked up without claiming the key,
+     * so a retry of an accepted submission can be answered before admission control
+     *
+     * @throws IdempotencyKeyConflictException if the key was already used for a different request
+     */
+    public Optional<LoanApplicationDTO> findIdempotentReplay(LoanApplicationDTO loanApplicationDTO, String idempotencyKey) {
+        return idempotencyKeys.findApplicationId(idempotencyKey, IdempotencyKeyStore.requestHash(loanApplicationDTO))
+                .map(replayId -> {
+                    log.info("Replaying loan application {} for Idempotency-Key {}", replayId, idempotencyKey);
+                    return getLoanApplicationById(replayId);
+                });
+    }
+    
+    /**
+     * True when SYNC submissions return 202 and run the eligibility chain in the background
+     */
+    public boolean isDeferredSubmission() {
+        return communicationMode == CommunicationMode.SYNC && submissionMode == SubmissionMode.DEFERRED;
+    }
+    
+    private void submitDeferredEligibilityCheck(Long applicationId, EligibilityRequestDTO request) {
+        long submittedAt = System.nanoTime();
+        try {
+            eligibilityCheckExecutor.submit(() -> {
+                try {
+                    checkEligibilitySync(applicationId, request);
+                } catch (Exception e) {
+                    checkEligibilitySyncFallback(applicationId, request, e);
+                } finally {
+                    admissionControl.recordDecisionLatency(System.nanoTime() - submittedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Deferred eligibility check rejected for application {}: {}", applicationId, e.getMessage());
+            markProcessingFailed(applicationId, ReasonCode.OVERLOADED);
+        }
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Create a batch of loan applications.
+     * Rows are inserted in one transaction with JDBC batching (pooled loan_applications_seq ids);
+     * in ASYNC mode the eligibility requests are batch-inserted into the outbox in that same transaction.
+     * In SYNC mode the rows are committed first and then checked concurrently on the
+     * {@link EligibilityCheckExecutor}, each with its own fallback, so one failing call costs one
+     * decision rather than the whole batch. The results are written back with a single batched update.
+     */
+    public List<LoanApplicationBatchResultDTO> createLoanApplications(List<LoanApplicationDTO> loanApplicationDTOs) {
+        log.info("Creating batch of {} loan applications", loanApplicationDTOs.size());
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<LoanApplicationBatchResultDTO> results = new ArrayList<>(loanApplicationDTOs.size());
+        List<BatchItem> items = new ArrayList<>(loanApplicationDTOs.size());
+        
+        for (int i = 0; i < loanApplicationDTOs.size(); i++) {
+            LoanApplicationDTO dto = loanApplicationDTOs.get(i);
+            String error = validateBatchItem(dto);
+            if (error != null) {
+                results.add(new LoanApplicationBatchResultDTO(i, false, null, error));
+                continue;
+            }
+            // Inserted directly in ELIGIBILITY_CHECK when the check is dispatched below
+            LoanApplication application = newApplication(dto, isDeferredSubmission() ? "PENDING" : "ELIGIBILITY_CHECK", now);
+            items.add(new BatchItem(i, dto, application));
+            results.add(new LoanApplicationBatchResultDTO(i, true, null, null));
+        }
+        
+        if (items.isEmpty()) {
+            return results;
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> insertBatch(items));
+        if (communicationMode == CommunicationMode.SYNC && !isDeferredSubmission()) {
+            checkBatchEligibility(items);
+        }
+        
+        for (BatchItem item : items) {
+            results.get(item.index()).setApplication(convertToDTO(item.application()));
+        }
+        
+        log.info("Batch created {} of {} loan applications", items.size(), loanApplicationDTOs.size());
+        return results;
+    }
+    
+    private void insertBatch(List<BatchItem> items) {
+        loanApplicationRepository.saveAll(items.stream().map(BatchItem::application).toList());
+        loanApplicationRepository.flush();
+        
+        if (isDeferredSubmission()) {
+            List<BatchItem> deferred = List.copyOf(items);
+            afterCommit(() -> deferred.forEach(item -> submitDeferredEligibilityCheck(
+                    item.application().getId(), buildEligibilityRequest(item.request()))));
+        } else if (communicationMode == CommunicationMode.ASYNC) {
+            for (BatchItem item : items) {
+                sendEligibilityRequest(item.application().getId(), buildEligibilityRequest(item.request()));
+            }
+        }
+    }
+    
+    /**
+     * Check committed ELIGIBILITY_CHECK rows concurrently and apply all results with one batched UPDATE
+     */
+    private void checkBatchEligibility(List<BatchItem> items) {
+        List<CompletableFuture<EligibilityResponseDTO>> checks = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            Long applicationId = item.application().getId();
+            EligibilityRequestDTO request = buildEligibilityRequest(item.request());
+            CompletableFuture<EligibilityResponseDTO> check = new CompletableFuture<>();
+            try {
+                eligibilityCheckExecutor.submit(() -> {
+                    try {
+                        check.complete(communicationStrategy.checkEligibility(request));
+                    } catch (RuntimeException e) {
+                        log.warn("Eligibility check failed for batch application {}: {}", applicationId, e.getMessage());
+                        check.complete(createFallbackEligibilityResponse(request.getCustomerId()));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Eligibility check rejected for batch application {}: {}", applicationId, e.getMessage());
+                EligibilityResponseDTO overloaded = createFallbackEligibilityResponse(request.getCustomerId());
+                overloaded.setReason(EligibilityReasons.of(ReasonCode.OVERLOADED));
+                check.complete(overloaded);
+            }
+            checks.add(check);
+        }
+        
+        Map<Long, EligibilityResponseDTO> responses = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            LoanApplication application = items.get(i).application();
+            EligibilityResponseDTO response = checks.get(i).join();
+            applyEligibilityResult(application, response);
+            responses.put(application.getId(), response);
+        }
+        loanApplicationRepository.bulkApplyEligibilityResults(responses);
+        applicationCache.evictAll(responses.keySet());
+    }
+    
+    private String validateBatchItem(LoanApplicationDTO dto) {
+        if (dto == null) {
+            return "Application is required";
+        }
+        if (dto.getCustomerId() == null) {
+            return "customerId is required";
+        }
+        if (dto.getLoanAmount() == null || dto.getLoanAmount().signum() <= 0) {
+            return "loanAmount must be positive";
+        }
+        if (dto.getLoanTermMonths() == null || dto.getLoanTermMonths() <= 0) {
+            return "loanTermMonths must be positive";
+        }
+        return null;
+    }
+    
+    private LoanApplication newApplication(LoanApplicationDTO loanApplicationDTO, String status, LocalDateTime now) {
+        LoanApplication application = new LoanApplication();
+        application.setCustomerId(loanApplicationDTO.getCustomerId());
+        application.setLoanAmount(loanApplicationDTO.getLoanAmount());
+        application.setLoanTermMonths(loanApplicationDTO.getLoanTermMonths());
+        application.setLoanPurpose(loanApplicationDTO.getLoanPurpose());
+        application.setStatus(status);
+        application.setApplicationDate(now);
+        application.setLastUpdated(now);
+        return application;
+    }
+    
+    private EligibilityRequestDTO buildEligibilityRequest(LoanApplicationDTO loanApplicationDTO) {
         EligibilityRequestDTO eligibilityRequest = new EligibilityRequestDTO();
         eligibilityRequest.setCustomerId(loanApplicationDTO.getCustomerId());
         eligibilityRequest.setRequestedLoanAmount(loanApplicationDTO.getLoanAmount());
         eligibilityRequest.setLoanTermMonths(loanApplicationDTO.getLoanTermMonths());
         eligibilityRequest.setLoanPurpose(loanApplicationDTO.getLoanPurpose());
         // These would typically come from customer service or request
-        eligibilityRequest.setMonthlyIncome(new java.math.BigDecimal("5000"));
-        eligibilityRequest.setMonthlyExpenses(new java.math.BigDecimal("2000"));
+        eligibilityRequest.setMonthlyIncome(Money.ofCents(500_000));
+        eligibilityRequest.setMonthlyExpenses(Money.ofCents(200_000));
+        return eligibilityRequest;
+    }
+    
+    private void checkEligibilityAsync(Long applicationId, LoanApplicationDTO loanApplicationDTO) {
+        EligibilityRequestDTO eligibilityRequest = buildEligibilityRequest(loanApplicationDTO);
         
         if (communicationMode == CommunicationMode.SYNC) {
             // Synchronous check using Feign
@@ -116,70 +379,140 @@ public class LoanApplicationService {
         log.info("Checking eligibility asynchronously via Kafka for application: {}", applicationId);
         
         updateApplicationStatus(applicationId, "ELIGIBILITY_CHECK");
-        
+        sendEligibilityRequest(applicationId, request);
+    }
+    
+    /**
+     * Queue an eligibility request in the outbox and register its pending response.
+     * {@link EligibilityOutboxRelay} publishes it once the surrounding transaction commits,
+     * so a rollback publishes nothing and a slow broker does not delay the caller.
+     */
+    private void sendEligibilityRequest(Long applicationId, EligibilityRequestDTO request) {
         String correlationId = "eligibility-request-" + applicationId + "-" + System.currentTimeMillis();
-        EligibilityRequestMessage kafkaMessage = new EligibilityRequestMessage(correlationId, applicationId, request);
         
-        // Store the future for when response comes back with timeout handling
-        CompletableFuture<EligibilityResponseDTO> future = new CompletableFuture<>();
-        eligibilityRequests.put(correlationId, future);
-
-
-        // Send to Kafka with error handling
-        kafkaTemplate.send("eligibility-request-topic", correlationId, kafkaMessage)
-            .whenComplete((result, ex) -> {
-                if (ex != null) {
-                    log.error("Failed to send Kafka message for application {}: {}", applicationId, ex.getMessage());
-                    eligibilityRequests.remove(correlationId);
-                    handleKafkaSendFailure(applicationId, request);
-                } else {
-                    log.info("Eligibility request sent to Kafka: correlationId={}, partition={}, offset={}", 
-                            correlationId, 
-                            result.getRecordMetadata().partition(),
-                            result.getRecordMetadata().offset());
-                }
-            });
+        // Register the pending response; the registry's timing wheel handles the timeout
+        CompletableFuture<EligibilityResponseDTO> future;
+        try {
+            future = eligibilityRequests.register(correlationId);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many eligibility checks in flight, not sending request for application {}", applicationId);
+            handleKafkaSendFailure(applicationId);
+            return;
+        }
+        
+        outboxRepository.save(new EligibilityOutboxMessage(correlationId, applicationId, toJson(request)));
         
-        // Add timeout handling for async response
-        future.orTimeout(30, TimeUnit.SECONDS)
-            .exceptionally(ex -> {
-                log.error("Eligibility check timed out for application: {}", applicationId);
-                eligibilityRequests.remove(correlationId);
-                handleEligibilityTimeout(applicationId, request.getCustomerId());
+        PendingCheck check = new PendingCheck(correlationId, System.nanoTime());
+        pendingChecks.put(applicationId, check);
+        afterRollback(() -> {
+            eligibilityRequests.cancel(correlationId);
+            pendingChecks.remove(applicationId, check);
+        });
+        
+        future.whenComplete((response, ex) -> {
+            pendingChecks.remove(applicationId, check);
+            if (ex == null) {
+                admissionControl.recordDecisionLatency(System.nanoTime() - check.queuedAt());
+            }
+        });
+        
+        // Add timeout handling for async response (off the registry's ticker thread)
+        future.exceptionallyAsync(ex -> {
+                if (ex instanceof TimeoutException && handleEligibilityTimeout(applicationId, correlationId)) {
+                    log.error("Eligibility check timed out for application: {}", applicationId);
+                    admissionControl.recordDecisionLatency(System.nanoTime() - check.queuedAt());
+                }
                 return null;
             });
         
-        log.info("Eligibility request sent to Kafka with correlation ID: {}", correlationId);
+        log.info("Eligibility request queued in outbox with correlation ID: {}", correlationId);
+    }
+    
+    private String toJson(EligibilityRequestDTO request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize eligibility request", e);
+        }
+    }
+    
+    /**
+     * Called by the outbox relay when a request could not be published after all attempts.
+     * An application that was decided or timed out meanwhile keeps that status.
+     */
+    public void handleUndeliverableEligibilityRequest(Long applicationId, String correlationId) {
+        eligibilityRequests.cancel(correlationId);
+        log.warn("Handling Kafka send failure for application: {}", applicationId);
+        finishEligibilityCheck(applicationId, "PROCESSING_FAILED", ReasonCode.SEND_FAILED);
     }
     
     /**
      * Handle Kafka send failures (fallback for ASYNC mode)
      */
-    private void handleKafkaSendFailure(Long applicationId, EligibilityRequestDTO request) {
+    private void handleKafkaSendFailure(Long applicationId) {
         log.warn("Handling Kafka send failure for application: {}", applicationId);
-        
+        markProcessingFailed(applicationId, ReasonCode.SEND_FAILED);
+    }
+    
+    private void markProcessingFailed(Long applicationId, ReasonCode reason) {
         LoanApplication application = loanApplicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Application not found: " + applicationId));
         
         application.setStatus("PROCESSING_FAILED");
-        application.setEligibilityReason("Failed to send eligibility request. Please retry later.");
+        application.setEligibilityReason(EligibilityReasons.of(reason));
         application.setLastUpdated(LocalDateTime.now());
         loanApplicationRepository.save(application);
+        applicationCache.evict(applicationId);
     }
     
     /**
-     * Handle eligibility check timeout
+     * Handle eligibility check timeout. A request still in the outbox is withdrawn so it is not
+     * published after the caller was told it timed out; a result that another instance already
+     * applied is kept.
+     *
+     * @return false if the application was decided meanwhile, i.e. the check did not time out
      */
-    private void handleEligibilityTimeout(Long applicationId, Long customerId) {
-        log.warn("Handling eligibility timeout for application: {}", applicationId);
-        
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found: " + applicationId));
-        
-        application.setStatus("TIMEOUT");
-        application.setEligibilityReason("Eligibility check timed out. Please retry later.");
-        application.setLastUpdated(LocalDateTime.now());
-        loanApplicationRepository.save(application);
+    private boolean handleEligibilityTimeout(Long applicationId, String correlationId) {
+        outboxRepository.deleteByCorrelationId(correlationId);
+        return finishEligibilityCheck(applicationId, "TIMEOUT", ReasonCode.TIMEOUT);
+    }
+    
+    private boolean finishEligibilityCheck(Long applicationId, String status, ReasonCode reason) {
+        if (loanApplicationRepository.finishEligibilityCheck(applicationId, status,
+                EligibilityReasons.of(reason), LocalDateTime.now()) == 0) {
+            log.info("Application {} left ELIGIBILITY_CHECK already, not marking it {}", applicationId, status);
+            return false;
+        }
+        applicationCache.evict(applicationId);
+        return true;
+    }
+    
+    /**
+     * Settle pending checks whose response was consumed by another instance in
+     * loan-application-service-group. That instance applies the decision, but the local future would
+     * otherwise stay in flight until it times out and skew admission control.
+     * The decision latency recorded is an upper bound, off by at most one settle interval.
+     */
+    @Scheduled(fixedDelayString = "${los.loan-application.admission.settle-interval:1s}")
+    public void settleChecksDecidedElsewhere() {
+        if (pendingChecks.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingChecks.keySet());
+        int settled = 0;
+        for (int from = 0; from < ids.size(); from += SETTLE_QUERY_CHUNK) {
+            Collection<Long> chunk = ids.subList(from, Math.min(ids.size(), from + SETTLE_QUERY_CHUNK));
+            for (Long applicationId : loanApplicationRepository.findIdsOutOfEligibilityCheck(chunk)) {
+                PendingCheck check = pendingChecks.remove(applicationId);
+                if (check != null && eligibilityRequests.cancel(check.correlationId())) {
+                    admissionControl.recordDecisionLatency(System.nanoTime() - check.queuedAt());
+                    settled++;
+                }
+            }
+        }
+        if (settled > 0) {
+            log.debug("Settled {} eligibility checks decided by another instance", settled);
+        }
     }
     
     /**
@@ -189,22 +522,40 @@ public class LoanApplicationService {
         EligibilityResponseDTO fallbackResponse = new EligibilityResponseDTO();
         fallbackResponse.setCustomerId(customerId);
         fallbackResponse.setEligible(false);
-        fallbackResponse.setEligibleLoanAmount(BigDecimal.ZERO);
-        fallbackResponse.setReason("Service temporarily unavailable. Please try again later.");
+        fallbackResponse.setEligibleLoanAmount(Money.ZERO);
+        fallbackResponse.setReason(EligibilityReasons.of(ReasonCode.SERVICE_UNAVAILABLE));
         fallbackResponse.setRecommendedInterestRate(null);
         fallbackResponse.setRecommendedTermMonths(null);
         return fallbackResponse;
     }
     
-    @KafkaListener(topics = "eligibility-response-topic", groupId = "loan-application-service-group")
-    public void handleEligibilityResponse(EligibilityResponseMessage message) {
-        log.info("Received eligibility response for correlation ID: {}", message.getCorrelationId());
-        CompletableFuture<EligibilityResponseDTO> future = eligibilityRequests.remove(message.getCorrelationId());
+    /**
+     * Drains a poll's worth of eligibility responses and applies them with one batched UPDATE.
+     * If the same application appears more than once in a poll, the last response wins,
+     * which preserves per-application ordering within the batch.
+     *
+     * Results are applied by application id to whatever is still in ELIGIBILITY_CHECK, whichever
+     * instance sent the request. Pending futures are completed only once the UPDATE has committed,
+     * so nothing waiting on them can observe the application before its decision is stored.
+     */
+    @KafkaListener(topics = "eligibility-response-topic", groupId = "loan-application-service-group", batch = "true")
+    @Transactional
+    public void handleEligibilityResponses(List<EligibilityResponseMessage> messages) {
+        log.info("Received batch of {} eligibility responses", messages.size());
         
-        if (future != null) {
-            future.complete(message.getResponse());
-            updateApplicationWithEligibilityResult(message.getApplicationId(), message.getResponse());
+        Map<Long, EligibilityResponseDTO> results = new LinkedHashMap<>();
+        for (EligibilityResponseMessage message : messages) {
+            if (message.getApplicationId() != null && message.getResponse() != null) {
+                results.remove(message.getApplicationId());
+                results.put(message.getApplicationId(), message.getResponse());
+            }
         }
+        
+        int updated = loanApplicationRepository.bulkApplyEligibilityResults(results);
+        applicationCache.evictAll(results.keySet());
+        afterCommit(() -> messages.forEach(message ->
+                eligibilityRequests.complete(message.getCorrelationId(), message.getResponse())));
+        log.info("Applied {} eligibility results from batch of {} responses", updated, messages.size());
     }
     
     @Transactional
@@ -214,6 +565,7 @@ public class LoanApplicationService {
         application.setStatus(status);
         application.setLastUpdated(LocalDateTime.now());
         loanApplicationRepository.save(application);
+        applicationCache.evict(applicationId);
     }
     
     @Transactional
@@ -221,6 +573,14 @@ public class LoanApplicationService {
         LoanApplication application = loanApplicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Application not found: " + applicationId));
         
+        applyEligibilityResult(application, response);
+        
+        loanApplicationRepository.save(application);
+        applicationCache.evict(applicationId);
+        log.info("Updated application {} with eligibility result. Eligible: {}", applicationId, response.getEligible());
+    }
+    
+    private void applyEligibilityResult(LoanApplication application, EligibilityResponseDTO response) {
         application.setEligible(response.getEligible());
         application.setEligibleLoanAmount(response.getEligibleLoanAmount());
         application.setEligibilityReason(response.getReason());
@@ -228,15 +588,17 @@ public class LoanApplicationService {
         application.setRecommendedTermMonths(response.getRecommendedTermMonths());
         application.setStatus(response.getEligible() ? "APPROVED" : "REJECTED");
         application.setLastUpdated(LocalDateTime.now());
-        
-        loanApplicationRepository.save(application);
-        log.info("Updated application {} with eligibility result. Eligible: {}", applicationId, response.getEligible());
     }
     
+    /**
+     * Read-through the application cache; status changes evict the entry on every instance
+     */
     public LoanApplicationDTO getLoanApplicationById(Long id) {
-        LoanApplication application = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Loan application not found with id: " + id));
-        return convertToDTO(application);
+        return applicationCache.get(id, () -> {
+            LoanApplication application = loanApplicationRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Loan application not found with id: " + id));
+            return convertToDTO(application);
+        });
     }
     
     public List<LoanApplicationDTO> getLoanApplicationsByCustomerId(Long customerId) {
@@ -245,6 +607,38 @@ public class LoanApplicationService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Keyset-paginated listing, newest first. Unlike {@link #getAllLoanApplications()} the cost
+     * of each page is independent of its position and of the table size.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public LoanApplicationPageDTO getLoanApplicationsPage(LoanApplicationFilter filter, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LoanApplicationCursor after = cursor != null ? LoanApplicationCursor.decode(cursor) : null;
+        
+        // Fetch one extra row to know whether another page exists
+        List<LoanApplication> rows = loanApplicationRepository.findPage(filter, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<LoanApplication> page = hasMore ? rows.subList(0, limit) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            LoanApplication last = page.get(page.size() - 1);
+            nextCursor = new LoanApplicationCursor(last.getApplicationDate(), last.getId()).encode();
+        }
+        return new LoanApplicationPageDTO(page.stream().map(this::convertToDTO).toList(), nextCursor);
+    }
+    
+    /**
+     * Stream every matching application, newest first, through a JDBC fetch-size cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamLoanApplications(LoanApplicationFilter filter, Consumer<LoanApplicationDTO> consumer) {
+        loanApplicationRepository.streamAll(filter, exportFetchSize, application -> consumer.accept(convertToDTO(application)));
+    }
+    
     public List<LoanApplicationDTO> getAllLoanApplications() {
         return loanApplicationRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -268,6 +662,7 @@ public class LoanApplicationService {
             eligibilityResponse.setEligible(application.getEligible());
             eligibilityResponse.setEligibleLoanAmount(application.getEligibleLoanAmount());
             eligibilityResponse.setReason(application.getEligibilityReason());
+            eligibilityResponse.setReasonText(EligibilityReasons.render(application.getEligibilityReason()));
             eligibilityResponse.setRecommendedInterestRate(application.getRecommendedInterestRate());
             eligibilityResponse.setRecommendedTermMonths(application.getRecommendedTermMonths());
             dto.setEligibilityResponse(eligibilityResponse);
@@ -276,6 +671,10 @@ public class LoanApplicationService {
         return dto;
     }
 
+    private record BatchItem(int index, LoanApplicationDTO request, LoanApplication application) {}
+    
+    private record PendingCheck(String correlationId, long queuedAt) {}
+
     /***
      * For now I am doing it with Inner Classes I will create a Package messeging and  keep it there
      * or I can use records java 17